@@ -0,0 +1,34 @@
+package com.mrfop.worktime.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wires the concurrency limits of CPU-heavy endpoints ({@link AdmissionControl}).
+ */
+@Configuration
+@RequiredArgsConstructor
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+    private final AdmissionProperties properties;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!properties.enabled()) return;
+
+        Map<String, AdmissionLimiter> limiters = new HashMap<>();
+        if (properties.limits() != null) {
+            properties.limits().forEach((name, limit) -> limiters.put(name, new AdmissionLimiter(name, limit, meterRegistry)));
+        }
+
+        registry.addInterceptor(new AdmissionInterceptor(limiters))
+                .addPathPatterns("/api/**");
+    }
+}
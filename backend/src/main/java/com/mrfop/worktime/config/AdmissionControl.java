@@ -0,0 +1,17 @@
+package com.mrfop.worktime.config;
+
+import java.lang.annotation.*;
+
+/**
+ * Runs a controller method under the named concurrency limit ({@code worktime.admission.limits.<name>}).
+ *
+ * <p>Requests beyond {@code max-concurrent} wait (at most {@code max-queued} of them, at most {@code max-wait});
+ * the others are rejected with 429 and {@code Retry-After}. For streamed responses the slot is held until the
+ * response is complete. See {@link AdmissionInterceptor}.</p>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AdmissionControl {
+    String value();
+}
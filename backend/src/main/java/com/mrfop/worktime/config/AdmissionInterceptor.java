@@ -0,0 +1,73 @@
+package com.mrfop.worktime.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+
+/**
+ * Applies {@link AdmissionControl} limits before the handler runs (rejections go through the regular exception
+ * handling, i.e. 429 problem details with {@code Retry-After}).
+ *
+ * <p>Streamed responses ({@code StreamingResponseBody}) keep their slot until the async request completes, errors or
+ * times out; the async re-dispatch does not take a second slot.</p>
+ */
+class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SLOT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".slot";
+
+    private final Map<String, AdmissionLimiter> limiters;
+
+    AdmissionInterceptor(Map<String, AdmissionLimiter> limiters) {
+        this.limiters = limiters;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The slot was taken on the initial dispatch
+        if (request.getDispatcherType() == DispatcherType.ASYNC) return true;
+
+        AdmissionControl admission = admissionOf(handler);
+        if (admission == null) return true;
+
+        AdmissionLimiter limiter = limiters.get(admission.value());
+        if (limiter == null) {
+            throw new IllegalStateException("No admission limit configured: worktime.admission.limits." + admission.value());
+        }
+
+        request.setAttribute(SLOT_ATTRIBUTE, limiter.acquire());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        AdmissionLimiter.Slot slot = slotOf(request);
+        if (slot == null) return;
+
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override public void onComplete(AsyncEvent event) { slot.release(); }
+            @Override public void onTimeout(AsyncEvent event) { slot.release(); }
+            @Override public void onError(AsyncEvent event) { slot.release(); }
+            @Override public void onStartAsync(AsyncEvent event) {}
+        });
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        AdmissionLimiter.Slot slot = slotOf(request);
+        if (slot != null && !request.isAsyncStarted()) slot.release();
+    }
+
+    private static AdmissionControl admissionOf(Object handler) {
+        return handler instanceof HandlerMethod hm ? hm.getMethodAnnotation(AdmissionControl.class) : null;
+    }
+
+    private static AdmissionLimiter.Slot slotOf(HttpServletRequest request) {
+        return (AdmissionLimiter.Slot) request.getAttribute(SLOT_ATTRIBUTE);
+    }
+}
@@ -0,0 +1,109 @@
+package com.mrfop.worktime.config;
+
+import com.mrfop.worktime.exception.CapacityExceededException;
+import com.mrfop.worktime.exception.base.Subject;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fair semaphore with a bounded wait queue, one per {@link AdmissionProperties.Limit}.
+ *
+ * <p>Metrics, tagged with {@code limit}: {@code worktime.admission.active}, {@code worktime.admission.queued},
+ * {@code worktime.admission.wait} and {@code worktime.admission.rejected{reason=queue_full|timeout}}.</p>
+ */
+class AdmissionLimiter {
+
+    private final AdmissionProperties.Limit limit;
+    private final Semaphore slots;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Timer waitTimer;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    AdmissionLimiter(String name, AdmissionProperties.Limit limit, MeterRegistry meterRegistry) {
+        this.limit = limit;
+        this.slots = new Semaphore(limit.maxConcurrent(), true);
+
+        Gauge.builder("worktime.admission.active", slots, s -> limit.maxConcurrent() - s.availablePermits())
+                .description("Requests running under the limit")
+                .tag("limit", name)
+                .register(meterRegistry);
+        Gauge.builder("worktime.admission.queued", queued, AtomicInteger::get)
+                .description("Requests waiting for a slot")
+                .tag("limit", name)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("worktime.admission.wait")
+                .description("Time requests waited for a slot")
+                .tag("limit", name)
+                .register(meterRegistry);
+        this.rejectedQueueFull = rejectedCounter(name, "queue_full", meterRegistry);
+        this.rejectedTimeout = rejectedCounter(name, "timeout", meterRegistry);
+    }
+
+    /**
+     * Takes a slot, waiting in the queue if needed; 429 ({@link CapacityExceededException}) if the queue is full or
+     * the wait times out.
+     */
+    Slot acquire() {
+        // Zero-timeout variant honours fairness: no barging ahead of waiting requests
+        if (tryAcquire(0)) return new Slot();
+
+        if (queued.incrementAndGet() > limit.maxQueued()) {
+            queued.decrementAndGet();
+            rejectedQueueFull.increment();
+            throw rejection();
+        }
+
+        long started = System.nanoTime();
+        try {
+            if (!tryAcquire(limit.maxWait().toNanos())) {
+                rejectedTimeout.increment();
+                throw rejection();
+            }
+            return new Slot();
+        } finally {
+            queued.decrementAndGet();
+            waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * A taken slot; {@link #release()} may be called more than once.
+     */
+    final class Slot {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) slots.release();
+        }
+    }
+
+    private boolean tryAcquire(long timeoutNanos) {
+        try {
+            return slots.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private CapacityExceededException rejection() {
+        return new CapacityExceededException(Subject.WORK_REPORT, limit.retryAfter());
+    }
+
+    private static Counter rejectedCounter(String name, String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("worktime.admission.rejected")
+                .description("Requests rejected with 429")
+                .tag("limit", name)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.mrfop.worktime.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Concurrency limits of CPU-heavy endpoints ({@code worktime.admission.*}), see {@link AdmissionControl}.
+ *
+ * @param enabled apply the limits; otherwise annotated endpoints run unrestricted
+ * @param limits  limits by name
+ */
+@ConfigurationProperties(prefix = "worktime.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        Map<String, Limit> limits
+) {
+
+    /**
+     * One concurrency limit, shared by all endpoints naming it.
+     *
+     * @param maxConcurrent requests running at once
+     * @param maxQueued     requests waiting for a slot; further requests are rejected right away
+     * @param maxWait       longest wait for a slot before the request is rejected
+     * @param retryAfter    {@code Retry-After} sent with a rejection
+     */
+    public record Limit(
+            @DefaultValue("2") int maxConcurrent,
+            @DefaultValue("4") int maxQueued,
+            @DefaultValue("10s") Duration maxWait,
+            @DefaultValue("5s") Duration retryAfter
+    ) {}
+}
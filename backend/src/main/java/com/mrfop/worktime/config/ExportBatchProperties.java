@@ -0,0 +1,16 @@
+package com.mrfop.worktime.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Batch (ZIP) exports ({@code worktime.export.batch.*}).
+ *
+ * @param workers    period PDFs rendered in parallel, shared by all batch exports
+ * @param maxPeriods periods per batch at most; longer ranges are rejected with 400
+ */
+@ConfigurationProperties(prefix = "worktime.export.batch")
+public record ExportBatchProperties(
+        @DefaultValue("2") int workers,
+        @DefaultValue("60") int maxPeriods
+) {}
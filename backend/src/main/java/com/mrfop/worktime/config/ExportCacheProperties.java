@@ -0,0 +1,24 @@
+package com.mrfop.worktime.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Cache of rendered PDF exports ({@code worktime.export.cache.*}).
+ *
+ * @param enabled cache synchronous exports; otherwise every export is rendered and streamed
+ * @param maxSize total size of the cached files; least valuable entries are evicted beyond that
+ * @param ttl     time a rendered export is kept after it was written
+ * @param dir     directory of the cached files (unset = {@code java.io.tmpdir}/worktime-export-cache)
+ */
+@ConfigurationProperties(prefix = "worktime.export.cache")
+public record ExportCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("256MB") DataSize maxSize,
+        @DefaultValue("15m") Duration ttl,
+        Path dir
+) {}
@@ -0,0 +1,25 @@
+package com.mrfop.worktime.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Asynchronous export jobs ({@code worktime.export.jobs.*}).
+ *
+ * @param workers         renders running in parallel
+ * @param queueCapacity   accepted jobs waiting for a worker; submissions beyond that are rejected with 429
+ * @param spoolDir        directory of the finished artifacts (unset = {@code java.io.tmpdir}/worktime-exports)
+ * @param ttl             how long finished jobs and their artifacts are kept
+ * @param cleanupInterval how often expired jobs are removed
+ */
+@ConfigurationProperties(prefix = "worktime.export.jobs")
+public record ExportJobProperties(
+        @DefaultValue("2") int workers,
+        @DefaultValue("20") int queueCapacity,
+        Path spoolDir,
+        @DefaultValue("1h") Duration ttl,
+        @DefaultValue("5m") Duration cleanupInterval
+) {}
@@ -0,0 +1,17 @@
+package com.mrfop.worktime.config;
+
+import java.lang.annotation.*;
+
+/**
+ * Maximum number of SQL statements a controller method may issue per request (cache hits issue none).
+ *
+ * <p>Statements are counted by {@link QueryCountInspector}; overruns are logged and counted as
+ * {@code worktime.db.query_budget.exceeded}, or fail the request if {@code worktime.query-budget.enforce=true}.
+ * Typical cause of an overrun: lazy associations touched while mapping (N+1).</p>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryBudget {
+    int value();
+}
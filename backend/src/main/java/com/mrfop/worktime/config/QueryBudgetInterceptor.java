@@ -0,0 +1,67 @@
+package com.mrfop.worktime.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Arms {@link QueryCountInspector} for handlers annotated with {@link QueryBudget} and reports the result.
+ *
+ * <p>Metrics: {@code worktime.db.queries} (statements per request) and {@code worktime.db.query_budget.exceeded},
+ * both tagged with {@code endpoint} ({@code Controller#method}).</p>
+ */
+@Slf4j
+class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enforce;
+
+    QueryBudgetInterceptor(MeterRegistry meterRegistry, boolean enforce) {
+        this.meterRegistry = meterRegistry;
+        this.enforce = enforce;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryBudget budget = budgetOf(handler);
+        if (budget != null) QueryCountInspector.start(endpointOf(handler), budget.value(), enforce);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int count = QueryCountInspector.stop();
+        QueryBudget budget = budgetOf(handler);
+        if (count < 0 || budget == null) return;
+
+        String endpoint = endpointOf(handler);
+        DistributionSummary.builder("worktime.db.queries")
+                .description("SQL statements per request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(count);
+
+        if (count > budget.value()) {
+            log.warn("Query budget exceeded: {} issued {} statements (budget {})", endpoint, count, budget.value());
+            Counter.builder("worktime.db.query_budget.exceeded")
+                    .description("Requests that issued more SQL statements than their @QueryBudget")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private static QueryBudget budgetOf(Object handler) {
+        return handler instanceof HandlerMethod hm ? hm.getMethodAnnotation(QueryBudget.class) : null;
+    }
+
+    private static String endpointOf(Object handler) {
+        HandlerMethod hm = (HandlerMethod) handler;
+        return hm.getBeanType().getSimpleName() + "#" + hm.getMethod().getName();
+    }
+}
@@ -0,0 +1,15 @@
+package com.mrfop.worktime.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * SQL statement budget per request ({@code worktime.query-budget.*}), see {@link QueryBudget}.
+ *
+ * @param enforce fail the request with the statement that exceeds the budget (development / CI); otherwise the
+ *                overrun is only logged and counted
+ */
+@ConfigurationProperties(prefix = "worktime.query-budget")
+public record QueryBudgetProperties(
+        @DefaultValue("false") boolean enforce
+) {}
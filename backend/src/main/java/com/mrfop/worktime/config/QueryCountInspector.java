@@ -0,0 +1,50 @@
+package com.mrfop.worktime.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread (JPQL, derived and native queries, DML).
+ *
+ * <p>Counting is armed per request by {@link QueryBudgetInterceptor}; statements outside a tracked request
+ * (startup, scheduled jobs, async streams) are not counted.</p>
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<Tracking> CURRENT = new ThreadLocal<>();
+
+    static void start(String endpoint, int budget, boolean enforce) {
+        CURRENT.set(new Tracking(endpoint, budget, enforce));
+    }
+
+    /**
+     * Stops counting and returns the number of statements since {@link #start}, or {@code -1} if not tracking.
+     */
+    static int stop() {
+        Tracking tracking = CURRENT.get();
+        CURRENT.remove();
+        return tracking == null ? -1 : tracking.count;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Tracking tracking = CURRENT.get();
+        if (tracking != null && ++tracking.count > tracking.budget && tracking.enforce) {
+            throw new IllegalStateException("Query budget of " + tracking.budget + " exceeded by "
+                    + tracking.endpoint + " at statement " + tracking.count + ": " + sql);
+        }
+        return sql;
+    }
+
+    private static final class Tracking {
+        private final String endpoint;
+        private final int budget;
+        private final boolean enforce;
+        private int count;
+
+        private Tracking(String endpoint, int budget, boolean enforce) {
+            this.endpoint = endpoint;
+            this.budget = budget;
+            this.enforce = enforce;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.mrfop.worktime.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mrfop.worktime.service.WorkReportDayCache;
+import org.springframework.boot.cache.autoconfigure.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gives the {@code reportDays} cache its own spec: size-bounded but without the write TTL of
+ * {@code spring.cache.caffeine.spec}. Closed past days never change without a write, and writes evict them
+ * explicitly ({@link WorkReportDayCache}).
+ */
+@Configuration
+public class ReportDayCacheConfig {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> reportDayCacheCustomizer(ReportProperties properties) {
+        return cacheManager -> cacheManager.registerCustomCache(
+                WorkReportDayCache.CACHE_NAME,
+                Caffeine.newBuilder()
+                        .maximumSize(properties.dayCacheSize())
+                        .recordStats()
+                        .build()
+        );
+    }
+}
@@ -0,0 +1,43 @@
+package com.mrfop.worktime.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Reporting settings ({@code worktime.report.*}).
+ *
+ * @param jasper       where the compiled Jasper templates are loaded from
+ * @param dayCacheSize UTC days kept in the {@code reportDays} cache (no expiry: entries are evicted by writes)
+ */
+@ConfigurationProperties(prefix = "worktime.report")
+public record ReportProperties(
+        @DefaultValue Jasper jasper,
+        @DefaultValue("2000") int dayCacheSize
+) {
+
+    /**
+     * Compiled Jasper templates ({@code worktime.report.jasper.*}).
+     *
+     * @param templateDir    directory with the compiled {@code .jasper} files (same layout as {@code classpath:jasper});
+     *                       when set, templates are loaded from there and reloaded when a file changes (development).
+     *                       Unset = classpath, loaded once
+     * @param reloadInterval minimum time between two modification checks of {@code templateDir}
+     * @param swapDir        directory of the fill swap files (unset = {@code java.io.tmpdir})
+     * @param inMemoryPages  filled pages kept in memory per export; older pages are swapped to {@code swapDir}
+     * @param pageDays       local days loaded per data page while filling (bounds the report data held at once)
+     * @param fillCacheTtl   time a filled report is kept for exports of the same request in another format
+     * @param fillCacheSize  filled reports kept at most ({@code 0} = every export fills again)
+     */
+    public record Jasper(
+            Path templateDir,
+            @DefaultValue("2s") Duration reloadInterval,
+            Path swapDir,
+            @DefaultValue("50") int inMemoryPages,
+            @DefaultValue("31") int pageDays,
+            @DefaultValue("2m") Duration fillCacheTtl,
+            @DefaultValue("4") int fillCacheSize
+    ) {}
+}
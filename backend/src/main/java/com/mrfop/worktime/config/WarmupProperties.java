@@ -0,0 +1,26 @@
+package com.mrfop.worktime.config;
+
+import com.mrfop.worktime.model.enums.ReportFormat;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Startup warm-up ({@code worktime.warmup.*}); readiness is reported only after it finished.
+ *
+ * @param enabled      run the warm-up before the application reports readiness
+ * @param reportDays   days up to today read by the warm-up report queries (query plans, day cache)
+ * @param renderRounds dummy reports filled and exported per format (class loading, JIT of the fill/export path)
+ * @param formats      formats exported by the dummy reports
+ * @param locale       locale of the dummy reports (formatting data is loaded per locale)
+ */
+@ConfigurationProperties(prefix = "worktime.warmup")
+public record WarmupProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("7") int reportDays,
+        @DefaultValue("3") int renderRounds,
+        @DefaultValue("PDF") List<ReportFormat> formats,
+        @DefaultValue("de-DE") Locale locale
+) {}
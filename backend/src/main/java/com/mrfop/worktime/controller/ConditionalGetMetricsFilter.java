@@ -0,0 +1,144 @@
+package com.mrfop.worktime.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Set;
+
+/**
+ * Measures what conditional GETs save.
+ *
+ * <p>For the ETag-enabled JSON endpoints, the body size of every {@code 200} response is remembered per
+ * {@code (URL, ETag)}; bytes are counted while they pass through, the body is not buffered. When the same URL is later answered with {@code 304 Not Modified}, the remembered size is
+ * added to {@code worktime.http.not_modified.bytes}; {@code worktime.http.not_modified} counts the 304s.
+ * Both are available via {@code /actuator/metrics}.</p>
+ */
+@Component
+public class ConditionalGetMetricsFilter extends OncePerRequestFilter {
+
+    // Endpoints that emit ETags (streams and exports carry none)
+    private static final Set<String> TRACKED_PATHS = Set.of(
+            "/api/v1/worksessions",
+            "/api/v1/worksessions/current",
+            "/api/v1/worksegments",
+            "/api/v1/worksegments/current",
+            "/api/v1/worksegments/search",
+            "/api/v1/reports/days",
+            "/api/v1/reports/sessions/recent",
+            "/api/v1/categories",
+            "/api/v1/activities"
+    );
+
+    private final Cache<String, Integer> lastBodySize = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .build();
+
+    private final Counter notModified;
+    private final Counter bytesSaved;
+
+    public ConditionalGetMetricsFilter(MeterRegistry meterRegistry) {
+        this.notModified = Counter.builder("worktime.http.not_modified")
+                .description("Responses answered with 304 Not Modified")
+                .register(meterRegistry);
+        this.bytesSaved = Counter.builder("worktime.http.not_modified.bytes")
+                .description("Response body bytes not sent because of 304 Not Modified")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !TRACKED_PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        CountingResponse counting = new CountingResponse(response);
+        try {
+            chain.doFilter(request, counting);
+        } finally {
+            record(request, counting);
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponse response) {
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        if (etag == null) return;
+
+        String key = request.getRequestURI() + "?" + request.getQueryString() + "#" + etag;
+
+        if (response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+            notModified.increment();
+            Integer size = lastBodySize.getIfPresent(key);
+            if (size != null) bytesSaved.increment(size);
+        } else if (response.getStatus() == HttpServletResponse.SC_OK) {
+            lastBodySize.put(key, (int) Math.min(Integer.MAX_VALUE, response.bytesWritten()));
+        }
+    }
+
+    /**
+     * Passes the body through unchanged and counts the bytes written ({@link #getWriter()} included).
+     */
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private long bytes;
+        private ServletOutputStream stream;
+        private PrintWriter writer;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        long bytesWritten() {
+            if (writer != null) writer.flush();
+            return bytes;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (stream == null) {
+                ServletOutputStream target = super.getOutputStream();
+                stream = new ServletOutputStream() {
+                    @Override public void write(int b) throws IOException { target.write(b); bytes++; }
+                    @Override public void write(byte[] b, int off, int len) throws IOException { target.write(b, off, len); bytes += len; }
+                    @Override public void flush() throws IOException { target.flush(); }
+                    @Override public void close() throws IOException { target.close(); }
+                    @Override public boolean isReady() { return target.isReady(); }
+                    @Override public void setWriteListener(WriteListener listener) { target.setWriteListener(listener); }
+                };
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) writer.flush();
+            super.flushBuffer();
+        }
+    }
+}
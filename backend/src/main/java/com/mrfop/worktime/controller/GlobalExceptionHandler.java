@@ -1,5 +1,6 @@
 package com.mrfop.worktime.controller;
 
+import com.mrfop.worktime.exception.CapacityExceededException;
 import com.mrfop.worktime.exception.InvalidParameterException;
 import com.mrfop.worktime.exception.InvalidTimeRangeException;
 import com.mrfop.worktime.exception.MissingTimeValueException;
@@ -11,6 +12,7 @@ import com.mrfop.worktime.exception.base.ErrorCode;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -54,6 +56,9 @@ public class GlobalExceptionHandler {
         CODE_TO_STATUS.put(ErrorCode.ALREADY_RUNNING, HttpStatus.CONFLICT);
         CODE_TO_STATUS.put(ErrorCode.NO_ACTIVE, HttpStatus.CONFLICT);
         CODE_TO_STATUS.put(ErrorCode.OPERATION_BLOCKED_BY_RUNNING, HttpStatus.CONFLICT);
+
+        // 429
+        CODE_TO_STATUS.put(ErrorCode.CAPACITY_EXCEEDED, HttpStatus.TOO_MANY_REQUESTS);
     }
 
     /* ------------------------- DOMAIN EXCEPTIONS ------------------------- */
@@ -96,6 +101,14 @@ public class GlobalExceptionHandler {
             pd.setProperty("end", mtx.getEnd());
         }
 
+        if (ex instanceof CapacityExceededException cex) {
+            pd.setProperty("retryAfterSeconds", cex.getRetryAfterSeconds());
+            logAtLevel(status, ex, pd.getDetail());
+            return ResponseEntity.status(status)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(cex.getRetryAfterSeconds()))
+                    .body(pd);
+        }
+
         logAtLevel(status, ex, pd.getDetail());
         return ResponseEntity.status(status).body(pd);
     }
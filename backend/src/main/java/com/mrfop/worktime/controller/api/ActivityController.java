@@ -1,19 +1,23 @@
 package com.mrfop.worktime.controller.api;
 
+import com.mrfop.worktime.config.QueryBudget;
 import com.mrfop.worktime.model.enums.ActiveStatus;
 import com.mrfop.worktime.model.request.ActivityCreateRequest;
 import com.mrfop.worktime.model.request.ActivityPatchRequest;
 import com.mrfop.worktime.model.response.ActivityResponse;
 import com.mrfop.worktime.service.ActivityService;
+import com.mrfop.worktime.service.DataVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
@@ -33,13 +37,22 @@ import java.util.List;
 public class ActivityController {
 
     private final ActivityService activityService;
+    private final DataVersionService dataVersion;
 
     @GetMapping
     @Operation(summary = "Get activities by status")
+    @QueryBudget(1)
     public ResponseEntity<List<ActivityResponse>> getActivities(
-            @RequestParam(defaultValue = "ALL") ActiveStatus status
+            @RequestParam(defaultValue = "ALL") ActiveStatus status,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(activityService.findByStatus(status));
+        String etag = dataVersion.taxonomyEtag();
+        if (webRequest.checkNotModified(etag)) return null; // 304, no query
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(activityService.findByStatus(status));
     }
 
     @PostMapping
@@ -1,10 +1,12 @@
 package com.mrfop.worktime.controller.api;
 
+import com.mrfop.worktime.config.QueryBudget;
 import com.mrfop.worktime.model.enums.ActiveStatus;
 import com.mrfop.worktime.model.request.CategoryCreateRequest;
 import com.mrfop.worktime.model.request.CategoryPatchRequest;
 import com.mrfop.worktime.model.response.CategoryResponse;
 import com.mrfop.worktime.service.CategoryService;
+import com.mrfop.worktime.service.DataVersionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -12,10 +14,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -33,13 +37,22 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final DataVersionService dataVersion;
 
     @GetMapping
     @Operation(summary = "Get categories by status")
+    @QueryBudget(1)
     public ResponseEntity<List<CategoryResponse>> getCategories(
-            @RequestParam(defaultValue = "ALL") ActiveStatus status
+            @RequestParam(defaultValue = "ALL") ActiveStatus status,
+            WebRequest webRequest
     ) {
-        return ResponseEntity.ok(categoryService.findByStatus(status));
+        String etag = dataVersion.taxonomyEtag();
+        if (webRequest.checkNotModified(etag)) return null; // 304, no query
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(categoryService.findByStatus(status));
     }
 
     @PostMapping
@@ -0,0 +1,88 @@
+package com.mrfop.worktime.controller.api;
+
+import com.mrfop.worktime.model.request.WorkReportExportRequest;
+import com.mrfop.worktime.model.response.ExportJobResponse;
+import com.mrfop.worktime.service.ExportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/v1/reports/exports")
+@Tag(name = "7. Export Job API", description = "Render reports asynchronously and download the artifacts")
+@RequiredArgsConstructor
+public class ExportJobController {
+
+    private final ExportJobService jobService;
+
+    /* ------------------------- ACTIONS ------------------------- */
+
+    @PostMapping
+    @Operation(summary = "Submit a PDF export (202 with the job; 429 with Retry-After if the queue is full)")
+    public ResponseEntity<ExportJobResponse> submit(@Valid @RequestBody WorkReportExportRequest req) {
+        ExportJobResponse job = jobService.submit(req);
+
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(job.id())
+                .toUri();
+
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @DeleteMapping("/{jobId}")
+    @Operation(summary = "Delete a finished export job and its artifact")
+    public ResponseEntity<Void> delete(@PathVariable String jobId) {
+        jobService.delete(jobId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /* ------------------------- READ ------------------------- */
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get export job status and progress")
+    public ResponseEntity<ExportJobResponse> get(@PathVariable String jobId) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(jobService.get(jobId));
+    }
+
+    /**
+     * Serves the artifact as a {@link Resource}, so Spring MVC answers {@code Range} requests with
+     * {@code 206 Partial Content} (resumable downloads). The artifact never changes once written; the job id is its
+     * entity tag.
+     */
+    @GetMapping(value = "/{jobId}/file", produces = MediaType.APPLICATION_PDF_VALUE)
+    @Operation(summary = "Download the artifact of a finished export job (supports HTTP Range)")
+    public ResponseEntity<Resource> download(@PathVariable String jobId) {
+        ExportJobService.Artifact artifact = jobService.artifact(jobId);
+
+        ContentDisposition cd = ContentDisposition
+                .attachment()
+                .filename(artifact.filename(), StandardCharsets.UTF_8)
+                .build();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, cd.toString())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header("X-Content-Type-Options", "nosniff")
+                .eTag("\"" + jobId + "\"")
+                .lastModified(artifact.lastModified())
+                .cacheControl(CacheControl.noCache())
+                .body(new FileSystemResource(artifact.path()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.mrfop.worktime.controller.api;
+
+import com.mrfop.worktime.service.LiveEventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/events")
+@Tag(name = "6. Live Event API", description = "Push committed session/segment changes (Server-Sent Events)")
+@RequiredArgsConstructor
+public class LiveEventController {
+
+    private final LiveEventService liveEvents;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to session/segment changes (replays after Last-Event-ID)")
+    public SseEmitter subscribe(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId,
+            HttpServletResponse response
+    ) {
+        // Reverse proxies (nginx) must pass events through immediately
+        response.setHeader("X-Accel-Buffering", "no");
+        return liveEvents.subscribe(lastEventId);
+    }
+}
@@ -1,17 +1,39 @@
 package com.mrfop.worktime.controller.api;
 
+import com.mrfop.worktime.config.AdmissionControl;
+import com.mrfop.worktime.config.QueryBudget;
+import com.mrfop.worktime.model.enums.ReportFormat;
+import com.mrfop.worktime.model.request.WorkReportAggregateRequest;
+import com.mrfop.worktime.model.request.WorkReportBatchExportRequest;
 import com.mrfop.worktime.model.request.WorkReportDaysRequest;
 import com.mrfop.worktime.model.request.WorkReportExportRequest;
+import com.mrfop.worktime.model.request.WorkReportRecentRequest;
+import com.mrfop.worktime.model.request.WorkReportTotalsRequest;
+import com.mrfop.worktime.model.response.WorkAggregateResponse;
 import com.mrfop.worktime.model.response.WorkDayResponse;
+import com.mrfop.worktime.model.response.WorkDayRollupCheckResponse;
+import com.mrfop.worktime.model.response.WorkSessionSummaryResponse;
+import com.mrfop.worktime.model.response.WorkTotalsResponse;
+import com.mrfop.worktime.service.DataVersionService;
+import com.mrfop.worktime.service.WorkDayRollupService;
+import com.mrfop.worktime.service.WorkReportAggregateService;
+import com.mrfop.worktime.service.RenderedExportCache;
+import com.mrfop.worktime.service.WorkReportBatchExportService;
 import com.mrfop.worktime.service.WorkReportExportService;
 import com.mrfop.worktime.service.WorkReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
@@ -21,19 +43,120 @@ import java.util.List;
 @RequiredArgsConstructor
 public class WorkReportController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
     private final WorkReportService reportService;
+    private final WorkReportAggregateService aggregateService;
+    private final WorkDayRollupService rollupService;
+    private final DataVersionService dataVersion;
     private final WorkReportExportService exportService;
+    private final WorkReportBatchExportService batchExportService;
+    private final RenderedExportCache exportCache;
+    private final JsonMapper jsonMapper;
 
     @GetMapping("/days")
     @Operation(summary = "Get work sessions grouped by day including segments")
-    public ResponseEntity<List<WorkDayResponse>> getDays(@Valid @ModelAttribute WorkReportDaysRequest req) {
-        return ResponseEntity.ok(reportService.daysWithSegments(req));
+    @QueryBudget(3)
+    @AdmissionControl("report")
+    public ResponseEntity<List<WorkDayResponse>> getDays(
+            @Valid @ModelAttribute WorkReportDaysRequest req,
+            WebRequest webRequest
+    ) {
+        // Running intervals are measured until now, so the payload changes without a write (in-memory check)
+        if (dataVersion.isSessionRunning()) {
+            return ResponseEntity.ok(reportService.days(req));
+        }
+
+        String etag = dataVersion.workEtag();
+        if (webRequest.checkNotModified(etag)) return null; // 304, no query
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(reportService.days(req));
+    }
+
+    @GetMapping("/sessions/recent")
+    @Operation(summary = "Get the latest work sessions with session, segment and unallocated seconds (newest first)")
+    @QueryBudget(2)
+    public ResponseEntity<List<WorkSessionSummaryResponse>> getRecentSessions(
+            @Valid @ModelAttribute WorkReportRecentRequest req,
+            WebRequest webRequest
+    ) {
+        // Running intervals are measured until now, so the payload changes without a write (in-memory check)
+        if (dataVersion.isSessionRunning()) {
+            return ResponseEntity.ok(reportService.recentSessions(req.limitOrDefault()));
+        }
+
+        String etag = dataVersion.workEtag();
+        if (webRequest.checkNotModified(etag)) return null; // 304, no query
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(reportService.recentSessions(req.limitOrDefault()));
+    }
+
+    @GetMapping(value = "/days/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Stream work sessions grouped by UTC start day as NDJSON (oldest first, resumable via cursor; tz must be UTC)")
+    @AdmissionControl("report")
+    public ResponseEntity<StreamingResponseBody> streamDays(
+            @Valid @ModelAttribute WorkReportDaysRequest req,
+            @RequestParam(required = false) String cursor
+    ) {
+        WorkReportService.DayStream days = reportService.streamDays(req, cursor);
+
+        StreamingResponseBody body = out -> days.forEach(day -> {
+            try {
+                out.write(jsonMapper.writeValueAsBytes(day));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+
+    @GetMapping("/aggregate")
+    @Operation(summary = "Sum segment seconds per local day / ISO week / month, optionally by category and activity (matrix)")
+    @QueryBudget(3)
+    @AdmissionControl("report")
+    public ResponseEntity<WorkAggregateResponse> aggregate(@Valid @ModelAttribute WorkReportAggregateRequest req) {
+        return ResponseEntity.ok(aggregateService.aggregate(req));
+    }
+
+    @GetMapping("/totals")
+    @Operation(summary = "Get session, segment and unallocated seconds for an inclusive UTC day range (from the daily rollup)")
+    @QueryBudget(1)
+    public ResponseEntity<WorkTotalsResponse> getTotals(@Valid @ModelAttribute WorkReportTotalsRequest req) {
+        return ResponseEntity.ok(rollupService.totals(req.from(), req.to()));
+    }
+
+    @GetMapping("/rollups/check")
+    @Operation(summary = "Compare the daily rollup against the work sessions and segments")
+    @AdmissionControl("report")
+    public ResponseEntity<WorkDayRollupCheckResponse> checkRollups() {
+        return ResponseEntity.ok(rollupService.check());
+    }
+
+    @PostMapping("/rollups/rebuild")
+    @Operation(summary = "Rebuild the daily rollup from the work sessions and segments")
+    @AdmissionControl("report")
+    public ResponseEntity<WorkDayRollupCheckResponse> rebuildRollups() {
+        return ResponseEntity.ok(rollupService.rebuild());
     }
 
     @GetMapping(value = "/export.pdf", produces = MediaType.APPLICATION_PDF_VALUE)
-    @Operation(summary = "Export report as PDF (no export if any session/segment is running)")
-    public ResponseEntity<byte[]> exportPdf(@Valid @ModelAttribute WorkReportExportRequest req) {
-        byte[] pdf = exportService.exportPdf(req);
+    @Operation(summary = "Export report as PDF (cached per data version, otherwise streamed; no export if any session/segment is running)")
+    @AdmissionControl("export")
+    public ResponseEntity<?> exportPdf(@Valid @ModelAttribute WorkReportExportRequest req) {
         String filename = exportService.buildFilename(req);
 
         ContentDisposition cd = ContentDisposition
@@ -41,14 +164,94 @@ public class WorkReportController {
                 .filename(filename, StandardCharsets.UTF_8)
                 .build();
 
-        return ResponseEntity.ok()
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_PDF)
-                .contentLength(pdf.length)
                 .header(HttpHeaders.CONTENT_DISPOSITION, cd.toString())
                 .header("X-Content-Type-Options", "nosniff")
                 .cacheControl(CacheControl.noStore().mustRevalidate())
                 .header(HttpHeaders.PRAGMA, "no-cache")
-                .header(HttpHeaders.EXPIRES, "0")
-                .body(pdf);
+                .header(HttpHeaders.EXPIRES, "0");
+
+        if (exportCache.isEnabled()) {
+            // Identical concurrent requests share one render; validates before the lookup. Served as a file
+            // resource, so Spring MVC answers Range requests with 206 (length set by the resource)
+            RenderedExportCache.RenderedExport export = exportCache.get(req);
+            return response
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .body(new FileSystemResource(export.file()));
+        }
+
+        // No Content-Length: the document is written while it is rendered (chunked)
+        WorkReportExportService.ExportStream pdf = exportService.streamPdf(req); // validates before the response starts
+        StreamingResponseBody body = pdf::writeTo;
+        return response.body(body);
+    }
+
+    @GetMapping(value = "/export.xlsx", produces = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+    @Operation(summary = "Export report as XLSX (reuses a report filled for another format of the same request)")
+    @AdmissionControl("export")
+    public ResponseEntity<StreamingResponseBody> exportXlsx(@Valid @ModelAttribute WorkReportExportRequest req) {
+        return reportExport(req, ReportFormat.XLSX);
+    }
+
+    @GetMapping(value = "/export.docx", produces = "application/vnd.openxmlformats-officedocument.wordprocessingml.document")
+    @Operation(summary = "Export report as DOCX (reuses a report filled for another format of the same request)")
+    @AdmissionControl("export")
+    public ResponseEntity<StreamingResponseBody> exportDocx(@Valid @ModelAttribute WorkReportExportRequest req) {
+        return reportExport(req, ReportFormat.DOCX);
+    }
+
+    @GetMapping(value = "/export.html", produces = MediaType.TEXT_HTML_VALUE)
+    @Operation(summary = "Export report as HTML (reuses a report filled for another format of the same request)")
+    @AdmissionControl("export")
+    public ResponseEntity<StreamingResponseBody> exportHtml(@Valid @ModelAttribute WorkReportExportRequest req) {
+        return reportExport(req, ReportFormat.HTML);
+    }
+
+    @GetMapping(value = "/export.zip", produces = "application/zip")
+    @Operation(summary = "Export one PDF per month or ISO week of the range as a ZIP archive (periods rendered in parallel)")
+    @AdmissionControl("export")
+    public ResponseEntity<StreamingResponseBody> exportZip(@Valid @ModelAttribute WorkReportBatchExportRequest req) {
+        WorkReportExportService.ExportStream zip = batchExportService.streamZip(req); // validates before the response starts
+        return streamedExport(zip, APPLICATION_ZIP, batchExportService.buildFilename(req));
+    }
+
+    @GetMapping(value = "/export.csv", produces = "text/csv")
+    @Operation(summary = "Export sessions (or segments with showSegments) as streamed CSV rows, bypassing the PDF renderer")
+    @AdmissionControl("export")
+    public ResponseEntity<StreamingResponseBody> exportCsv(@Valid @ModelAttribute WorkReportExportRequest req) {
+        WorkReportExportService.ExportStream csv = exportService.streamCsv(req); // validates before the response starts
+        return streamedExport(csv, TEXT_CSV, exportService.buildFilename(req, "csv"));
+    }
+
+    @GetMapping(value = "/export.ndjson", produces = "application/x-ndjson")
+    @Operation(summary = "Export sessions (or segments with showSegments) as streamed NDJSON rows, bypassing the PDF renderer")
+    @AdmissionControl("export")
+    public ResponseEntity<StreamingResponseBody> exportNdjson(@Valid @ModelAttribute WorkReportExportRequest req) {
+        WorkReportExportService.ExportStream ndjson = exportService.streamNdjson(req); // validates before the response starts
+        return streamedExport(ndjson, APPLICATION_NDJSON, exportService.buildFilename(req, "ndjson"));
+    }
+
+    private ResponseEntity<StreamingResponseBody> reportExport(WorkReportExportRequest req, ReportFormat format) {
+        WorkReportExportService.ExportStream doc = exportService.streamReport(req, format); // validates before the response starts
+        return streamedExport(doc, MediaType.parseMediaType(format.mediaType()), exportService.buildFilename(req, format.extension()));
+    }
+
+    // Written while exporting (chunked, no Content-Length)
+    private static ResponseEntity<StreamingResponseBody> streamedExport(
+            WorkReportExportService.ExportStream rows, MediaType contentType, String filename
+    ) {
+        ContentDisposition cd = ContentDisposition
+                .attachment()
+                .filename(filename, StandardCharsets.UTF_8)
+                .build();
+
+        StreamingResponseBody body = rows::writeTo;
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, cd.toString())
+                .header("X-Content-Type-Options", "nosniff")
+                .cacheControl(CacheControl.noStore())
+                .body(body);
     }
-}
\ No newline at end of file
+}
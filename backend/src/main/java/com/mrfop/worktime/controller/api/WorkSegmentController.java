@@ -1,9 +1,14 @@
 package com.mrfop.worktime.controller.api;
 
+import com.mrfop.worktime.config.QueryBudget;
+import com.mrfop.worktime.model.request.KeysetPageRequest;
 import com.mrfop.worktime.model.request.WorkSegmentPatchRequest;
+import com.mrfop.worktime.model.request.WorkSegmentSearchRequest;
 import com.mrfop.worktime.model.request.WorkSegmentStartRequest;
 import com.mrfop.worktime.model.request.WorkSegmentStopRequest;
+import com.mrfop.worktime.model.response.KeysetPage;
 import com.mrfop.worktime.model.response.WorkSegmentResponse;
+import com.mrfop.worktime.service.DataVersionService;
 import com.mrfop.worktime.service.WorkSegmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,9 +17,11 @@ import lombok.RequiredArgsConstructor;
 
 import java.util.List;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/worksegments")
@@ -22,22 +29,64 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class WorkSegmentController {
 
+    // Cursor of the following page; absent on the last page
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final WorkSegmentService segmentService;
+    private final DataVersionService dataVersion;
 
     /* ------------------------- READ ------------------------- */
 
     @GetMapping
-    @Operation(summary = "List work sessions (newest first)")
-    public ResponseEntity<List<WorkSegmentResponse>> list() {
-        return ResponseEntity.ok(segmentService.findAll());
+    @Operation(summary = "List work segments (newest first, paged via X-Next-Cursor)")
+    @QueryBudget(1)
+    public ResponseEntity<List<WorkSegmentResponse>> list(
+            @Valid @ModelAttribute KeysetPageRequest page,
+            WebRequest webRequest
+    ) {
+        String etag = dataVersion.workEtag();
+        if (webRequest.checkNotModified(etag)) return null; // 304, no query
+
+        KeysetPage<WorkSegmentResponse> result = segmentService.findPage(page.limitOrDefault(), page.before());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache());
+        if (result.nextCursor() != null) response.header(NEXT_CURSOR_HEADER, result.nextCursor());
+
+        return response.body(result.items());
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search work segments by category, activity, start range and comment (newest first, paged via X-Next-Cursor)")
+    @QueryBudget(1)
+    public ResponseEntity<List<WorkSegmentResponse>> search(
+            @Valid @ModelAttribute WorkSegmentSearchRequest req,
+            WebRequest webRequest
+    ) {
+        String etag = dataVersion.workEtag();
+        if (webRequest.checkNotModified(etag)) return null; // 304, no query
+
+        KeysetPage<WorkSegmentResponse> result = segmentService.search(req);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache());
+        if (result.nextCursor() != null) response.header(NEXT_CURSOR_HEADER, result.nextCursor());
+
+        return response.body(result.items());
     }
 
     @GetMapping("/current")
     @Operation(summary = "Get currently active work segment")
-    public ResponseEntity<WorkSegmentResponse> getCurrent() {
+    @QueryBudget(1)
+    public ResponseEntity<WorkSegmentResponse> getCurrent(WebRequest webRequest) {
+        String etag = dataVersion.workEtag();
+        if (webRequest.checkNotModified(etag)) return null; // 304, no query
+
         return segmentService.current()
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.noContent().build()); // 204 if none
+                .map(s -> ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(s))
+                .orElse(ResponseEntity.noContent().eTag(etag).cacheControl(CacheControl.noCache()).build()); // 204 if none
     }
 
     /* ------------------------- ACTIONS ------------------------- */
@@ -1,15 +1,21 @@
 package com.mrfop.worktime.controller.api;
 
+import com.mrfop.worktime.config.QueryBudget;
+import com.mrfop.worktime.model.request.KeysetPageRequest;
 import com.mrfop.worktime.model.request.WorkSessionPatchRequest;
+import com.mrfop.worktime.model.response.KeysetPage;
 import com.mrfop.worktime.model.response.WorkSessionResponse;
+import com.mrfop.worktime.service.DataVersionService;
 import com.mrfop.worktime.service.WorkSessionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -19,22 +25,44 @@ import java.util.List;
 @RequiredArgsConstructor
 public class WorkSessionController {
 
+    // Cursor of the following page; absent on the last page
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final WorkSessionService sessionService;
+    private final DataVersionService dataVersion;
 
     /* ------------------------- READ ------------------------- */
 
     @GetMapping
-    @Operation(summary = "List work sessions (newest first)")
-    public ResponseEntity<List<WorkSessionResponse>> list() {
-        return ResponseEntity.ok(sessionService.findAll());
+    @Operation(summary = "List work sessions (newest first, paged via X-Next-Cursor)")
+    @QueryBudget(1)
+    public ResponseEntity<List<WorkSessionResponse>> list(
+            @Valid @ModelAttribute KeysetPageRequest page,
+            WebRequest webRequest
+    ) {
+        String etag = dataVersion.workEtag();
+        if (webRequest.checkNotModified(etag)) return null; // 304, no query
+
+        KeysetPage<WorkSessionResponse> result = sessionService.findPage(page.limitOrDefault(), page.before());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache());
+        if (result.nextCursor() != null) response.header(NEXT_CURSOR_HEADER, result.nextCursor());
+
+        return response.body(result.items());
     }
 
     @GetMapping("/current")
     @Operation(summary = "Get currently active work session")
-    public ResponseEntity<WorkSessionResponse> current() {
+    @QueryBudget(1)
+    public ResponseEntity<WorkSessionResponse> current(WebRequest webRequest) {
+        String etag = dataVersion.workEtag();
+        if (webRequest.checkNotModified(etag)) return null; // 304, no query
+
         return sessionService.current()
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.noContent().build()); // 204 if none
+                .map(s -> ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(s))
+                .orElse(ResponseEntity.noContent().eTag(etag).cacheControl(CacheControl.noCache()).build()); // 204 if none
     }
 
     /* ------------------------- ACTIONS ------------------------- */
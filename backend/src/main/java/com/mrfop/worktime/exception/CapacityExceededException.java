@@ -0,0 +1,20 @@
+package com.mrfop.worktime.exception;
+
+import com.mrfop.worktime.exception.base.DomainException;
+import com.mrfop.worktime.exception.base.ErrorCode;
+import com.mrfop.worktime.exception.base.ExceptionMessages;
+import com.mrfop.worktime.exception.base.Subject;
+
+import java.time.Duration;
+
+public final class CapacityExceededException extends DomainException {
+
+    private final long retryAfterSeconds;
+
+    public CapacityExceededException(Subject subject, Duration retryAfter) {
+        super(ErrorCode.CAPACITY_EXCEEDED, subject, ExceptionMessages.capacityExceeded(subject));
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+}
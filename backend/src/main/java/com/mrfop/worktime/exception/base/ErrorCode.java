@@ -2,6 +2,7 @@ package com.mrfop.worktime.exception.base;
 
 public enum ErrorCode {
     ALREADY_RUNNING,
+    CAPACITY_EXCEEDED,
     CONFLICT,
     INVALID_TIME_RANGE,
     MISSING_TIME_VALUE,
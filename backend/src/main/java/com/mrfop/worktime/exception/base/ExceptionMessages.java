@@ -21,6 +21,10 @@ public final class ExceptionMessages {
         return capitalize(target.label()) + " is not allowed while " + running.label() + " is running.";
     }
 
+    public static String capacityExceeded(Subject subject) {
+        return capitalize(subject.label()) + " capacity exceeded, retry later.";
+    }
+
     public static String conflictsWithExistingData(Subject subject) {
         return capitalize(subject.label()) + " conflicts with existing data.";
     }
@@ -6,7 +6,9 @@ public enum LookupField {
     FROM("from"),
     TO("to"),
     TZ("tz"),
-    LOCALE("locale");
+    LOCALE("locale"),
+    CURSOR("cursor"),
+    BEFORE("before");
 
     private final String wireName;
 
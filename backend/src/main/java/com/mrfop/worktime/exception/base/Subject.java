@@ -5,7 +5,8 @@ public enum Subject {
     CATEGORY("category"),
     WORK_SEGMENT("work segment"),
     WORK_SESSION("work session"),
-    WORK_REPORT("work report");
+    WORK_REPORT("work report"),
+    EXPORT_JOB("export job");
     
     private final String label;
 
@@ -0,0 +1,49 @@
+package com.mrfop.worktime.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Materialized seconds per (UTC day, category, activity).
+ *
+ * <p>Derived data maintained by {@code WorkDayRollupService}; rows with
+ * {@code categoryId == 0 && activityId == 0} hold the work session totals of the day.</p>
+ */
+@Entity
+@Table(name = "work_day_rollup")
+@IdClass(WorkDayRollupEntity.Key.class)
+@Getter @Setter
+@NoArgsConstructor
+public class WorkDayRollupEntity {
+
+    // Reserved key for work session totals
+    public static final long SESSION_TOTAL_ID = 0L;
+
+    @Id
+    @Column(name = "day_utc", nullable = false)
+    private LocalDate dayUtc;
+
+    @Id
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Id
+    @Column(name = "activity_id", nullable = false)
+    private Long activityId;
+
+    @Column(name = "seconds", nullable = false)
+    private long seconds;
+
+    @Getter @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDate dayUtc;
+        private Long categoryId;
+        private Long activityId;
+    }
+}
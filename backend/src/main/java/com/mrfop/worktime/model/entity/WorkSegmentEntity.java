@@ -18,6 +18,7 @@ import java.time.LocalDate;
     ),
     indexes = {
         @Index(name = "idx_work_segment_start_date", columnList = "start_date"),
+        @Index(name = "idx_work_segment_start", columnList = "start_time"),
 
         // Reporting-friendly indexes from the new schema
         @Index(name = "idx_work_segment_category_start", columnList = "category_id,start_time"),
@@ -0,0 +1,12 @@
+package com.mrfop.worktime.model.enums;
+
+public enum ExportJobStatus {
+    /** Accepted, waiting for a worker. */
+    QUEUED,
+    /** Rendering. */
+    RUNNING,
+    /** Artifact ready for download. */
+    DONE,
+    /** Rendering failed; see {@code error}. */
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.mrfop.worktime.model.enums;
+
+/**
+ * Local calendar bucket of aggregated reports; {@code WEEK} is the ISO week (starting Monday).
+ */
+public enum ReportBucket {
+    DAY, WEEK, MONTH
+}
@@ -0,0 +1,8 @@
+package com.mrfop.worktime.model.enums;
+
+/**
+ * Group-by dimension of aggregated reports.
+ */
+public enum ReportDimension {
+    CATEGORY, ACTIVITY
+}
@@ -1,6 +1,7 @@
 package com.mrfop.worktime.model.mapper;
 
 import com.mrfop.worktime.model.entity.WorkSegmentEntity;
+import com.mrfop.worktime.model.projection.WorkReportRow;
 import com.mrfop.worktime.model.request.WorkSegmentPatchRequest;
 import com.mrfop.worktime.model.request.WorkSegmentStartRequest;
 import com.mrfop.worktime.model.response.WorkSegmentResponse;
@@ -36,6 +37,27 @@ public class WorkSegmentMapper {
         );
     }
 
+    public WorkSegmentResponse toResponse(WorkReportRow row) {
+        if (row == null || row.segmentId() == null) return null;
+
+        return new WorkSegmentResponse(
+            row.segmentId(),
+            row.sessionId(),
+
+            row.categoryId(),
+            row.categoryName(),
+
+            row.activityId(),
+            row.activityName(),
+
+            row.segmentStartTime(),
+            row.segmentEndTime(),
+            row.segmentComment(),
+            row.segmentCreatedAt(),
+            row.segmentUpdatedAt()
+        );
+    }
+
     public void applyPatch(WorkSegmentPatchRequest dto, WorkSegmentEntity entity) {
         if (dto == null || entity == null) return;
 
@@ -0,0 +1,13 @@
+package com.mrfop.worktime.model.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Summed segment seconds of one (bucket, category, activity) cell; ungrouped dimensions are {@code 0}.
+ */
+public interface WorkAggregateRow {
+    LocalDate getBucketStart();
+    Long getCategoryId();
+    Long getActivityId();
+    Long getSeconds();
+}
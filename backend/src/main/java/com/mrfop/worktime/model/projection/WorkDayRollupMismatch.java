@@ -0,0 +1,14 @@
+package com.mrfop.worktime.model.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Row of the rollup consistency check: a key whose stored seconds differ from the recomputed value.
+ */
+public interface WorkDayRollupMismatch {
+    LocalDate getDayUtc();
+    Long getCategoryId();
+    Long getActivityId();
+    Long getExpectedSeconds();
+    Long getActualSeconds();
+}
@@ -0,0 +1,9 @@
+package com.mrfop.worktime.model.projection;
+
+/**
+ * Summed rollup seconds over a day range.
+ */
+public interface WorkDayRollupTotals {
+    Long getSessionSeconds();
+    Long getSegmentSeconds();
+}
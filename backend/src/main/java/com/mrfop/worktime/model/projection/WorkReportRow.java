@@ -0,0 +1,25 @@
+package com.mrfop.worktime.model.projection;
+
+import java.time.Instant;
+
+/**
+ * Flat report row: one work session joined with one of its segments (segment columns are {@code null}
+ * for sessions without segments).
+ *
+ * <p>Produced by JPQL constructor expressions, so rows are plain values and never enter the persistence context.</p>
+ */
+public record WorkReportRow(
+        Long sessionId,
+        Instant sessionStartTime,
+        Instant sessionEndTime,
+        Long segmentId,
+        Instant segmentStartTime,
+        Instant segmentEndTime,
+        String segmentComment,
+        Instant segmentCreatedAt,
+        Instant segmentUpdatedAt,
+        Long categoryId,
+        String categoryName,
+        Long activityId,
+        String activityName
+) {}
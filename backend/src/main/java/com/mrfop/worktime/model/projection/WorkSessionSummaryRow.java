@@ -0,0 +1,16 @@
+package com.mrfop.worktime.model.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * One work session with aggregated segment figures (native query; DATETIME columns are returned as UTC wall time).
+ */
+public interface WorkSessionSummaryRow {
+    Long getId();
+    LocalDateTime getStartTime();
+    LocalDateTime getEndTime();
+    Long getSegmentCount();
+    Long getSegmentSeconds();
+    LocalDateTime getFirstSegmentStart();
+    LocalDateTime getLastSegmentEnd();
+}
@@ -0,0 +1,19 @@
+package com.mrfop.worktime.model.projection;
+
+import java.time.Instant;
+
+/**
+ * A work session with aggregated segment figures; running intervals are measured until the time of the query.
+ *
+ * @param firstSegmentStart start of the earliest segment ({@code null} without segments)
+ * @param lastSegmentEnd    end of the latest segment ({@code null} without segments)
+ */
+public record WorkSessionTotals(
+    Long id,
+    Instant startTime,
+    Instant endTime,
+    long segmentCount,
+    long segmentSeconds,
+    Instant firstSegmentStart,
+    Instant lastSegmentEnd
+) {}
@@ -0,0 +1,22 @@
+package com.mrfop.worktime.model.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Keyset page request for newest-first lists.
+ *
+ * @param limit  page size (optional, defaults to {@value #DEFAULT_LIMIT})
+ * @param before {@code nextCursor} of the previous page (optional, omitted = first page)
+ */
+public record KeysetPageRequest(
+        @Min(1) @Max(MAX_LIMIT) Integer limit,
+        String before
+) {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    public int limitOrDefault() {
+        return limit != null ? limit : DEFAULT_LIMIT;
+    }
+}
@@ -0,0 +1,43 @@
+package com.mrfop.worktime.model.request;
+
+import com.mrfop.worktime.model.enums.ReportBucket;
+import com.mrfop.worktime.model.enums.ReportDimension;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Aggregated report query.
+ *
+ * @param from       inclusive lower bound of the segment start (UTC)
+ * @param to         exclusive upper bound of the segment start (UTC)
+ * @param tz         IANA zone of the buckets (optional, defaults to UTC)
+ * @param bucket     bucket size (optional, defaults to {@link ReportBucket#DAY})
+ * @param groupBy    dimensions to split by (optional, empty = totals per bucket only)
+ * @param categoryId only segments of this category (optional)
+ * @param activityId only segments of this activity (optional)
+ */
+public record WorkReportAggregateRequest(
+        @NotNull Instant from,
+        @NotNull Instant to,
+        String tz,
+        ReportBucket bucket,
+        List<ReportDimension> groupBy,
+        Long categoryId,
+        Long activityId
+) {
+    @AssertTrue(message = "to must be after from")
+    public boolean orderOk() {
+        return from == null || to == null || to.isAfter(from);
+    }
+
+    public ReportBucket bucketOrDefault() {
+        return bucket != null ? bucket : ReportBucket.DAY;
+    }
+
+    public boolean groupsBy(ReportDimension dimension) {
+        return groupBy != null && groupBy.contains(dimension);
+    }
+}
@@ -0,0 +1,29 @@
+package com.mrfop.worktime.model.request;
+
+import com.mrfop.worktime.model.enums.ReportBucket;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Batch export: one PDF per local period of the range, delivered as a ZIP archive.
+ *
+ * @param split period of one PDF: {@link ReportBucket#MONTH} or {@link ReportBucket#WEEK} (ISO week)
+ */
+public record WorkReportBatchExportRequest(
+    @NotBlank String from,
+    @NotBlank String to,
+    @NotBlank String tz,
+    @NotBlank String locale,
+    @NotNull Boolean showSegments,
+    @NotNull ReportBucket split
+) {
+    @AssertTrue(message = "split must be WEEK or MONTH")
+    public boolean splitOk() {
+        return split != ReportBucket.DAY;
+    }
+
+    public WorkReportExportRequest toExportRequest() {
+        return new WorkReportExportRequest(from, to, tz, locale, showSegments);
+    }
+}
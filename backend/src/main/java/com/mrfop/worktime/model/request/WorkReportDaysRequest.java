@@ -5,9 +5,19 @@ import jakarta.validation.constraints.AssertTrue;
 
 import java.time.Instant;
 
+/**
+ * Day report range.
+ *
+ * @param from     inclusive lower bound (UTC, optional)
+ * @param to       exclusive upper bound (UTC, optional)
+ * @param tz       IANA zone used to bucket sessions into local days (optional, defaults to UTC)
+ * @param segments include segment details (optional, defaults to {@code true}); totals are returned either way
+ */
 public record WorkReportDaysRequest(
         Instant from,
-        Instant to
+        Instant to,
+        String tz,
+        Boolean segments
 ) {
     @AssertTrue(message = "to must be after or equal to from")
     public boolean orderOk() {
@@ -16,4 +26,5 @@ public record WorkReportDaysRequest(
 
     public boolean hasFrom() { return from != null; }
     public boolean hasTo() { return to != null; }
-}
\ No newline at end of file
+    public boolean includeSegments() { return segments == null || segments; }
+}
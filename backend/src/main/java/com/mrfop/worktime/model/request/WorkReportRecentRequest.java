@@ -0,0 +1,20 @@
+package com.mrfop.worktime.model.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Number of most recent work sessions to summarize.
+ *
+ * @param limit number of sessions (optional, defaults to {@value #DEFAULT_LIMIT})
+ */
+public record WorkReportRecentRequest(
+        @Min(1) @Max(MAX_LIMIT) Integer limit
+) {
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 200;
+
+    public int limitOrDefault() {
+        return limit != null ? limit : DEFAULT_LIMIT;
+    }
+}
@@ -0,0 +1,19 @@
+package com.mrfop.worktime.model.request;
+
+import jakarta.validation.constraints.AssertTrue;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Inclusive UTC day range for rollup totals; omitted bounds are open (all-time when both are missing).
+ */
+public record WorkReportTotalsRequest(
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+) {
+    @AssertTrue(message = "to must be after or equal to from")
+    public boolean orderOk() {
+        return from == null || to == null || !to.isBefore(from);
+    }
+}
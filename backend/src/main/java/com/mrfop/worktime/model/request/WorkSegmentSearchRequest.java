@@ -0,0 +1,38 @@
+package com.mrfop.worktime.model.request;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+
+/**
+ * Filtered segment search (newest first, keyset-paginated). All filters are optional and combined with AND.
+ *
+ * @param categoryId only segments of this category
+ * @param activityId only segments of this activity
+ * @param from       inclusive lower bound of the segment start (UTC)
+ * @param to         exclusive upper bound of the segment start (UTC)
+ * @param comment    case-insensitive substring of the comment
+ * @param limit      page size (defaults to {@value KeysetPageRequest#DEFAULT_LIMIT})
+ * @param before     {@code nextCursor} of the previous page (omitted = first page)
+ */
+public record WorkSegmentSearchRequest(
+        Long categoryId,
+        Long activityId,
+        Instant from,
+        Instant to,
+        @Size(max = 500) String comment,
+        @Min(1) @Max(KeysetPageRequest.MAX_LIMIT) Integer limit,
+        String before
+) {
+    @AssertTrue(message = "to must be after from")
+    public boolean orderOk() {
+        return from == null || to == null || to.isAfter(from);
+    }
+
+    public int limitOrDefault() {
+        return limit != null ? limit : KeysetPageRequest.DEFAULT_LIMIT;
+    }
+}
@@ -0,0 +1,25 @@
+package com.mrfop.worktime.model.response;
+
+import com.mrfop.worktime.model.enums.ExportJobStatus;
+
+import java.time.Instant;
+
+/**
+ * Export job state.
+ *
+ * @param progress   share of the report range read so far, {@code 0..100}
+ * @param sizeBytes  artifact size once {@code DONE}, otherwise {@code null}
+ * @param expiresAt  when the artifact is deleted (set once finished)
+ * @param error      failure reason if {@code FAILED}
+ */
+public record ExportJobResponse(
+        String id,
+        ExportJobStatus status,
+        int progress,
+        String filename,
+        Long sizeBytes,
+        Instant createdAt,
+        Instant finishedAt,
+        Instant expiresAt,
+        String error
+) {}
@@ -0,0 +1,14 @@
+package com.mrfop.worktime.model.response;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list.
+ *
+ * @param items      page content in list order
+ * @param nextCursor cursor for the following page ({@code before} parameter), or {@code null} on the last page
+ */
+public record KeysetPage<T>(
+    List<T> items,
+    String nextCursor
+) {}
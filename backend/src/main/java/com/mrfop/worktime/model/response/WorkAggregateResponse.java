@@ -0,0 +1,32 @@
+package com.mrfop.worktime.model.response;
+
+import com.mrfop.worktime.model.enums.ReportBucket;
+import com.mrfop.worktime.model.enums.ReportDimension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Segment seconds as a matrix: one row per group, one column per bucket.
+ *
+ * <p>{@code buckets} holds the local start date of every bucket in the range (including empty ones); each
+ * {@link Row#seconds()} and {@code bucketTotals} is aligned with it. Ungrouped dimensions are {@code null} in the rows.</p>
+ */
+public record WorkAggregateResponse(
+    String zone,
+    ReportBucket bucket,
+    List<ReportDimension> groupBy,
+    List<LocalDate> buckets,
+    List<Row> rows,
+    long[] bucketTotals,
+    long totalSeconds
+) {
+    public record Row(
+        Long categoryId,
+        String categoryName,
+        Long activityId,
+        String activityName,
+        long[] seconds,
+        long totalSeconds
+    ) {}
+}
@@ -0,0 +1,16 @@
+package com.mrfop.worktime.model.response;
+
+import com.mrfop.worktime.service.event.ChangeType;
+
+/**
+ * Payload of a live work event ({@code GET /events}).
+ *
+ * @param type   kind of write
+ * @param before state before the write ({@code null} for {@link ChangeType#CREATED})
+ * @param after  state after the write ({@code null} for {@link ChangeType#DELETED})
+ */
+public record WorkChangeResponse<T>(
+    ChangeType type,
+    T before,
+    T after
+) {}
@@ -3,7 +3,17 @@ package com.mrfop.worktime.model.response;
 import java.time.LocalDate;
 import java.util.List;
 
+/**
+ * One local day of the day report.
+ *
+ * <p>Totals only count the part of each session/segment that falls into this day; running intervals are
+ * measured until the time of the request.</p>
+ */
 public record WorkDayResponse(
-    LocalDate dayUtc,
-    List<WorkSessionWithSegmentsResponse> sessions
-) {}
\ No newline at end of file
+    LocalDate day,
+    String zone,
+    long sessionSeconds,
+    long segmentSeconds,
+    long unallocatedSeconds,
+    List<WorkDaySessionResponse> sessions
+) {}
@@ -0,0 +1,17 @@
+package com.mrfop.worktime.model.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record WorkDayRollupCheckResponse(
+    boolean consistent,
+    List<Mismatch> mismatches
+) {
+    public record Mismatch(
+        LocalDate dayUtc,
+        Long categoryId,
+        Long activityId,
+        Long expectedSeconds,
+        Long actualSeconds
+    ) {}
+}
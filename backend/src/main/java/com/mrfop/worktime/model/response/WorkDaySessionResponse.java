@@ -0,0 +1,20 @@
+package com.mrfop.worktime.model.response;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A work session as part of one local day.
+ *
+ * <p>{@code startTime}/{@code endTime} are the unclipped session bounds; the second counts are clipped to the day.
+ * {@code items} contains the segments overlapping the day.</p>
+ */
+public record WorkDaySessionResponse(
+    Long id,
+    Instant startTime,
+    Instant endTime,
+    long durationSeconds,
+    long segmentSeconds,
+    long unallocatedSeconds,
+    List<WorkSegmentResponse> items
+) {}
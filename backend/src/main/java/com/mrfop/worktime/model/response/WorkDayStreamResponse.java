@@ -0,0 +1,10 @@
+package com.mrfop.worktime.model.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record WorkDayStreamResponse(
+    LocalDate dayUtc,
+    List<WorkSessionWithSegmentsResponse> sessions,
+    String cursor
+) {}
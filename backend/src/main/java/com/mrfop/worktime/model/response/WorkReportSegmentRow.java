@@ -0,0 +1,19 @@
+package com.mrfop.worktime.model.response;
+
+/**
+ * One work segment of a row export (CSV/NDJSON). Times are formatted in the requested zone/locale
+ * ({@code start}/{@code end}) and as ISO-8601 with offset ({@code startIso}/{@code endIso}).
+ */
+public record WorkReportSegmentRow(
+        Long sessionId,
+        Long segmentId,
+        String start,
+        String end,
+        String startIso,
+        String endIso,
+        long durationSeconds,
+        String duration,
+        String category,
+        String activity,
+        String comment
+) {}
@@ -0,0 +1,17 @@
+package com.mrfop.worktime.model.response;
+
+/**
+ * One work session of a row export (CSV/NDJSON). Times are formatted in the requested zone/locale
+ * ({@code start}/{@code end}) and as ISO-8601 with offset ({@code startIso}/{@code endIso}).
+ */
+public record WorkReportSessionRow(
+        Long sessionId,
+        String start,
+        String end,
+        String startIso,
+        String endIso,
+        long durationSeconds,
+        String duration,
+        long segmentSeconds,
+        long unallocatedSeconds
+) {}
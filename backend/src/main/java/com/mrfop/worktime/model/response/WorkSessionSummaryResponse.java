@@ -0,0 +1,18 @@
+package com.mrfop.worktime.model.response;
+
+import java.time.Instant;
+
+/**
+ * A work session with precomputed totals (no segment details).
+ *
+ * <p>Running intervals are measured until the time of the request.</p>
+ */
+public record WorkSessionSummaryResponse(
+    Long id,
+    Instant startTime,
+    Instant endTime,
+    long durationSeconds,
+    long segmentCount,
+    long segmentSeconds,
+    long unallocatedSeconds
+) {}
@@ -0,0 +1,11 @@
+package com.mrfop.worktime.model.response;
+
+import java.time.LocalDate;
+
+public record WorkTotalsResponse(
+    LocalDate fromDayUtc,
+    LocalDate toDayUtc,
+    long sessionSeconds,
+    long segmentSeconds,
+    long unallocatedSeconds
+) {}
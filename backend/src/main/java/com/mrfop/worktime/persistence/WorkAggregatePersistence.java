@@ -0,0 +1,76 @@
+package com.mrfop.worktime.persistence;
+
+import com.mrfop.worktime.model.entity.ActivityEntity;
+import com.mrfop.worktime.model.entity.CategoryEntity;
+import com.mrfop.worktime.model.enums.ReportBucket;
+import com.mrfop.worktime.model.projection.WorkAggregateRow;
+import com.mrfop.worktime.repository.ActivityRepository;
+import com.mrfop.worktime.repository.CategoryRepository;
+import com.mrfop.worktime.repository.WorkSegmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class WorkAggregatePersistence {
+
+    private final WorkSegmentRepository segmentRepo;
+    private final CategoryRepository categoryRepo;
+    private final ActivityRepository activityRepo;
+
+    // UTC wall time of the DATETIME columns
+    private static final DateTimeFormatter SQL_DATETIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneOffset.UTC);
+
+    /**
+     * Part of the aggregated range with one UTC offset ({@code [from, to)}).
+     */
+    public record OffsetPeriod(Instant from, Instant to, int offsetSeconds) {}
+
+    /* ------------------------- READ ------------------------- */
+
+    public List<WorkAggregateRow> aggregate(
+            Instant nowUtc,
+            Instant fromInclusive,
+            Instant toExclusive,
+            List<OffsetPeriod> periods,
+            ReportBucket bucket,
+            boolean byCategory,
+            boolean byActivity,
+            Long categoryId,
+            Long activityId
+    ) {
+        return segmentRepo.aggregate(
+                nowUtc, fromInclusive, toExclusive, toJson(periods), bucket.name(), byCategory, byActivity, categoryId, activityId
+        );
+    }
+
+    public Map<Long, String> categoryNames(Collection<Long> ids) {
+        if (ids.isEmpty()) return Map.of();
+        return categoryRepo.findAllById(ids).stream()
+                .collect(Collectors.toMap(CategoryEntity::getId, CategoryEntity::getName));
+    }
+
+    public Map<Long, String> activityNames(Collection<Long> ids) {
+        if (ids.isEmpty()) return Map.of();
+        return activityRepo.findAllById(ids).stream()
+                .collect(Collectors.toMap(ActivityEntity::getId, ActivityEntity::getName));
+    }
+
+    /* ------------------------- Mapping helpers ------------------------- */
+
+    private static String toJson(List<OffsetPeriod> periods) {
+        return periods.stream()
+                .map(p -> "{\"from\":\"%s\",\"to\":\"%s\",\"offset\":%d}"
+                        .formatted(SQL_DATETIME.format(p.from()), SQL_DATETIME.format(p.to()), p.offsetSeconds()))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
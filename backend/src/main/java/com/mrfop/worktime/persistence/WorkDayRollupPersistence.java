@@ -0,0 +1,44 @@
+package com.mrfop.worktime.persistence;
+
+import com.mrfop.worktime.model.projection.WorkDayRollupMismatch;
+import com.mrfop.worktime.model.projection.WorkDayRollupTotals;
+import com.mrfop.worktime.repository.WorkDayRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class WorkDayRollupPersistence {
+
+    private final WorkDayRollupRepository repo;
+
+    /* ------------------------- READ ------------------------- */
+
+    public WorkDayRollupTotals sumBetween(LocalDate fromDay, LocalDate toDay) {
+        return repo.sumBetween(fromDay, toDay);
+    }
+
+    public List<WorkDayRollupMismatch> findMismatches() {
+        return repo.findMismatches();
+    }
+
+    /* ------------------------- Writes ------------------------- */
+
+    public void addSeconds(LocalDate dayUtc, long categoryId, long activityId, long delta) {
+        if (delta == 0) return;
+        repo.addSeconds(dayUtc, categoryId, activityId, delta);
+    }
+
+    public void subtractSegmentsOfSession(Long workSessionId) {
+        repo.subtractSegmentsOfSession(workSessionId);
+    }
+
+    public void rebuild() {
+        repo.deleteAllRows();
+        repo.insertSegmentRowsFromSource();
+        repo.insertSessionRowsFromSource();
+    }
+}
@@ -0,0 +1,150 @@
+package com.mrfop.worktime.persistence;
+
+import com.mrfop.worktime.model.mapper.WorkSegmentMapper;
+import com.mrfop.worktime.model.projection.WorkReportRow;
+import com.mrfop.worktime.model.projection.WorkSessionSummaryRow;
+import com.mrfop.worktime.model.projection.WorkSessionTotals;
+import com.mrfop.worktime.model.response.WorkSegmentResponse;
+import com.mrfop.worktime.model.response.WorkSessionSummaryResponse;
+import com.mrfop.worktime.model.response.WorkSessionWithSegmentsResponse;
+import com.mrfop.worktime.repository.WorkSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Loads report sessions with their segments as response records.
+ *
+ * <p>Sessions are read as flat {@link WorkReportRow} tuples and assembled in one pass over the sorted rows; nothing is
+ * attached to the persistence context. Load time: {@code worktime.report.load}. {@code WorkReportRowsBenchmarkTest}
+ * compares this with the {@code @EntityGraph} queries of {@link WorkSessionRepository}.</p>
+ */
+@Component
+public class WorkReportPersistence {
+
+    private final WorkSessionRepository repo;
+    private final WorkSegmentMapper segmentMapper;
+    private final Timer loadTimer;
+
+    public WorkReportPersistence(WorkSessionRepository repo, WorkSegmentMapper segmentMapper, MeterRegistry meterRegistry) {
+        this.repo = repo;
+        this.segmentMapper = segmentMapper;
+        this.loadTimer = Timer.builder("worktime.report.load")
+                .description("Time to load report sessions with segments")
+                .register(meterRegistry);
+    }
+
+    /* ------------------------- READ (mapped DTOs) ------------------------- */
+
+    /**
+     * All sessions starting on the given UTC days, newest first; segments oldest first.
+     */
+    public List<WorkSessionWithSegmentsResponse> findByStartDays(Collection<LocalDate> days) {
+        return timed(() -> assemble(repo.findReportRowsByStartDateIn(days)));
+    }
+
+    /**
+     * Sessions with the given ids, ordered by {@code (startTime, id)} ascending; segments oldest first.
+     */
+    public List<WorkSessionWithSegmentsResponse> findByIds(Collection<Long> ids) {
+        return timed(() -> assemble(repo.findReportRowsByIdIn(ids)));
+    }
+
+    /**
+     * The latest {@code limit} sessions newest first with aggregated segment totals (no segment details).
+     */
+    public List<WorkSessionSummaryResponse> findRecentSummaries(int limit, Instant nowUtc) {
+        return repo.findRecentSummaries(nowUtc, limit).stream()
+                .map(WorkReportPersistence::toTotals)
+                .map(t -> toSummary(t, nowUtc))
+                .toList();
+    }
+
+    /**
+     * All sessions overlapping the range newest first with aggregated segment totals (one row per session).
+     */
+    public List<WorkSessionTotals> findOverlappingTotals(Instant nowUtc, Instant fromInclusive, Instant toExclusive) {
+        return repo.findOverlappingSummaries(nowUtc, fromInclusive, toExclusive).stream()
+                .map(WorkReportPersistence::toTotals)
+                .toList();
+    }
+
+    /* ------------------------- Mapping helpers ------------------------- */
+
+    // Native DATETIME values are UTC wall time (see spring.jpa hibernate.jdbc.time_zone)
+    private static WorkSessionTotals toTotals(WorkSessionSummaryRow row) {
+        return new WorkSessionTotals(
+                row.getId(),
+                utc(row.getStartTime()),
+                utc(row.getEndTime()),
+                row.getSegmentCount(),
+                row.getSegmentSeconds(),
+                utc(row.getFirstSegmentStart()),
+                utc(row.getLastSegmentEnd())
+        );
+    }
+
+    private static WorkSessionSummaryResponse toSummary(WorkSessionTotals t, Instant nowUtc) {
+        long duration = Math.max(0, Duration.between(t.startTime(), t.endTime() != null ? t.endTime() : nowUtc).getSeconds());
+
+        return new WorkSessionSummaryResponse(
+                t.id(),
+                t.startTime(),
+                t.endTime(),
+                duration,
+                t.segmentCount(),
+                t.segmentSeconds(),
+                Math.max(0, duration - t.segmentSeconds())
+        );
+    }
+
+    private static Instant utc(LocalDateTime value) {
+        return value == null ? null : value.toInstant(ZoneOffset.UTC);
+    }
+
+    private List<WorkSessionWithSegmentsResponse> timed(Supplier<List<WorkSessionWithSegmentsResponse>> load) {
+        return loadTimer.record(load);
+    }
+
+    // Rows are sorted by session, so a session is complete as soon as the session id changes
+    private List<WorkSessionWithSegmentsResponse> assemble(List<WorkReportRow> rows) {
+        List<WorkSessionWithSegmentsResponse> result = new ArrayList<>();
+
+        WorkReportRow head = null;
+        List<WorkSegmentResponse> items = new ArrayList<>();
+
+        for (WorkReportRow row : rows) {
+            if (head != null && !head.sessionId().equals(row.sessionId())) {
+                result.add(toResponse(head, items));
+                items = new ArrayList<>();
+            }
+            head = row;
+
+            if (row.segmentId() != null) {
+                items.add(segmentMapper.toResponse(row));
+            }
+        }
+
+        if (head != null) result.add(toResponse(head, items));
+        return result;
+    }
+
+    private static WorkSessionWithSegmentsResponse toResponse(WorkReportRow head, List<WorkSegmentResponse> items) {
+        return new WorkSessionWithSegmentsResponse(
+                head.sessionId(),
+                head.sessionStartTime(),
+                head.sessionEndTime(),
+                List.copyOf(items)
+        );
+    }
+}
@@ -6,12 +6,17 @@ import com.mrfop.worktime.exception.base.Subject;
 import com.mrfop.worktime.model.entity.WorkSegmentEntity;
 import com.mrfop.worktime.model.mapper.WorkSegmentMapper;
 import com.mrfop.worktime.model.request.WorkSegmentPatchRequest;
+import com.mrfop.worktime.model.request.WorkSegmentSearchRequest;
 import com.mrfop.worktime.model.request.WorkSegmentStartRequest;
+import com.mrfop.worktime.model.response.KeysetPage;
 import com.mrfop.worktime.model.response.WorkSegmentResponse;
 import com.mrfop.worktime.repository.WorkSegmentRepository;
+import com.mrfop.worktime.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,14 +29,74 @@ public class WorkSegmentPersistence {
 
     /* ------------------------- READ (mapped DTOs) ------------------------- */
 
-    public List<WorkSegmentResponse> findAll() {
-        return repo.findAllByOrderByStartTimeDesc().stream().map(mapper::toResponse).toList();
+    /**
+     * Loads one page newest first; reads one extra row to decide whether a next page exists.
+     */
+    public KeysetPage<WorkSegmentResponse> findPage(int limit, KeysetCursor before) {
+        List<WorkSegmentEntity> rows = repo.findPageBefore(
+                before == null ? null : before.startTime(),
+                before == null ? null : before.id(),
+                Limit.of(limit + 1)
+        );
+
+        return toPage(rows, limit);
+    }
+
+    /**
+     * Loads one filtered page newest first. Dispatches to the repository query whose composite index matches the
+     * category/activity filter, so every shape is an index range walk instead of a filtered scan of all segments.
+     */
+    public KeysetPage<WorkSegmentResponse> search(WorkSegmentSearchRequest req, int limit, KeysetCursor before) {
+        Instant beforeStart = before == null ? null : before.startTime();
+        Long beforeId = before == null ? null : before.id();
+        String pattern = containsPattern(req.comment());
+        Limit rowLimit = Limit.of(limit + 1);
+
+        List<WorkSegmentEntity> rows;
+        if (req.categoryId() != null && req.activityId() != null) {
+            rows = repo.searchByCategoryAndActivity(req.categoryId(), req.activityId(),
+                    req.from(), req.to(), pattern, beforeStart, beforeId, rowLimit);
+        } else if (req.categoryId() != null) {
+            rows = repo.searchByCategory(req.categoryId(),
+                    req.from(), req.to(), pattern, beforeStart, beforeId, rowLimit);
+        } else if (req.activityId() != null) {
+            rows = repo.searchByActivity(req.activityId(),
+                    req.from(), req.to(), pattern, beforeStart, beforeId, rowLimit);
+        } else {
+            rows = repo.search(req.from(), req.to(), pattern, beforeStart, beforeId, rowLimit);
+        }
+
+        return toPage(rows, limit);
     }
 
     public Optional<WorkSegmentResponse> findCurrent() {
         return repo.findTopByEndTimeIsNullOrderByStartTimeDesc().map(mapper::toResponse);
     }
 
+    // Cuts the extra row and derives the next cursor from the last row of the page
+    private KeysetPage<WorkSegmentResponse> toPage(List<WorkSegmentEntity> rows, int limit) {
+        boolean hasMore = rows.size() > limit;
+        List<WorkSegmentEntity> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String next = null;
+        if (hasMore) {
+            WorkSegmentEntity last = page.get(page.size() - 1);
+            next = new KeysetCursor(last.getStartTime(), last.getId()).encode();
+        }
+
+        return new KeysetPage<>(page.stream().map(mapper::toResponse).toList(), next);
+    }
+
+    // LIKE pattern for a literal substring ('!' escapes the wildcards); case-insensitive through the column collation
+    private static String containsPattern(String text) {
+        if (text == null || text.isBlank()) return null;
+        String escaped = text.strip()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return "%" + escaped + "%";
+    }
+
     /* ------------------------- DB primitives (locking / entities) ------------------------- */
 
     public Optional<WorkSegmentEntity> lockCurrentForUpdate() {
@@ -43,8 +108,16 @@ public class WorkSegmentPersistence {
                 .orElseThrow(() -> new NotFoundException(Subject.WORK_SEGMENT, LookupField.ID, id));
     }
 
+    public Optional<WorkSegmentEntity> findByIdForUpdate(Long id) {
+        return repo.lockByIdForUpdate(id);
+    }
+
     /* ------------------------- Mapping helpers (no DB write) ------------------------- */
 
+    public WorkSegmentResponse toResponse(WorkSegmentEntity entity) {
+        return mapper.toResponse(entity);
+    }
+
     public WorkSegmentEntity toNewEntity(WorkSegmentStartRequest request) {
         return mapper.toNewEntity(request);
     }
@@ -6,9 +6,12 @@ import com.mrfop.worktime.exception.base.Subject;
 import com.mrfop.worktime.model.entity.WorkSessionEntity;
 import com.mrfop.worktime.model.mapper.WorkSessionMapper;
 import com.mrfop.worktime.model.request.WorkSessionPatchRequest;
+import com.mrfop.worktime.model.response.KeysetPage;
 import com.mrfop.worktime.model.response.WorkSessionResponse;
 import com.mrfop.worktime.repository.WorkSessionRepository;
+import com.mrfop.worktime.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
@@ -24,11 +27,26 @@ public class WorkSessionPersistence {
 
     /* ------------------------- READ (mapped DTOs) ------------------------- */
 
-    public List<WorkSessionResponse> findAll() {
-        return repo.findAllByOrderByStartTimeDesc()
-                .stream()
-                .map(mapper::toResponse)
-                .toList();
+    /**
+     * Loads one page newest first; reads one extra row to decide whether a next page exists.
+     */
+    public KeysetPage<WorkSessionResponse> findPage(int limit, KeysetCursor before) {
+        List<WorkSessionEntity> rows = repo.findPageBefore(
+                before == null ? null : before.startTime(),
+                before == null ? null : before.id(),
+                Limit.of(limit + 1)
+        );
+
+        boolean hasMore = rows.size() > limit;
+        List<WorkSessionEntity> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String next = null;
+        if (hasMore) {
+            WorkSessionEntity last = page.get(page.size() - 1);
+            next = new KeysetCursor(last.getStartTime(), last.getId()).encode();
+        }
+
+        return new KeysetPage<>(page.stream().map(mapper::toResponse).toList(), next);
     }
 
     public Optional<WorkSessionResponse> findCurrent() {
@@ -53,8 +71,16 @@ public class WorkSessionPersistence {
                 .orElseThrow(() -> new NotFoundException(Subject.WORK_SESSION, LookupField.ID, id));
     }
 
+    public Optional<WorkSessionEntity> findByIdForUpdate(Long id) {
+        return repo.lockByIdForUpdate(id);
+    }
+
     /* ------------------------- Mapping helpers (no DB write) ------------------------- */
 
+    public WorkSessionResponse toResponse(WorkSessionEntity entity) {
+        return mapper.toResponse(entity);
+    }
+
     public void applyPatch(WorkSessionEntity entity, WorkSessionPatchRequest request) {
         mapper.applyPatch(request, entity);
     }
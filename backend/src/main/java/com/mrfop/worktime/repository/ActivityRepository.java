@@ -2,8 +2,10 @@ package com.mrfop.worktime.repository;
 
 import com.mrfop.worktime.model.entity.ActivityEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 
 @Repository
@@ -44,4 +46,15 @@ public interface ActivityRepository extends JpaRepository<ActivityEntity, Long>
      * Returns only inactive activities ordered by name ascending.
      */
     List<ActivityEntity> findAllByActiveFalseOrderByNameAsc();
-}
\ No newline at end of file
+
+    // -------------------------------------------------------------------------
+    // Data version (conditional GET)
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns the latest {@code updated_at} of all rows, or {@code null} if the table is empty.
+     * Seeds the in-memory data version at startup.
+     */
+    @Query("select max(e.updatedAt) from ActivityEntity e")
+    Instant findMaxUpdatedAt();
+}
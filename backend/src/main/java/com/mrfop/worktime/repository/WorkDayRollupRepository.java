@@ -0,0 +1,143 @@
+package com.mrfop.worktime.repository;
+
+import com.mrfop.worktime.model.entity.WorkDayRollupEntity;
+import com.mrfop.worktime.model.projection.WorkDayRollupMismatch;
+import com.mrfop.worktime.model.projection.WorkDayRollupTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface WorkDayRollupRepository extends JpaRepository<WorkDayRollupEntity, WorkDayRollupEntity.Key> {
+
+    // -------------------------------------------------------------------------
+    // Incremental maintenance
+    // -------------------------------------------------------------------------
+
+    /**
+     * Adds {@code delta} seconds (may be negative) to the rollup row of the given key, creating it if missing.
+     * Executed in the caller's transaction so the rollup commits or rolls back together with the write.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO work_day_rollup (day_utc, category_id, activity_id, seconds)
+        VALUES (:dayUtc, :categoryId, :activityId, :delta)
+        ON DUPLICATE KEY UPDATE seconds = seconds + VALUES(seconds)
+    """, nativeQuery = true)
+    void addSeconds(
+            @Param("dayUtc") LocalDate dayUtc,
+            @Param("categoryId") long categoryId,
+            @Param("activityId") long activityId,
+            @Param("delta") long delta
+    );
+
+    /**
+     * Subtracts the closed segments of the given work session from the rollup.
+     * Used before deleting a session, because its segments are removed by {@code ON DELETE CASCADE}.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE work_day_rollup r
+        JOIN (
+            SELECT start_date AS day_utc, category_id, activity_id,
+                   SUM(TIMESTAMPDIFF(SECOND, start_time, end_time)) AS seconds
+            FROM work_segment
+            WHERE work_session_id = :workSessionId AND end_time IS NOT NULL
+            GROUP BY start_date, category_id, activity_id
+        ) s ON s.day_utc = r.day_utc AND s.category_id = r.category_id AND s.activity_id = r.activity_id
+        SET r.seconds = r.seconds - s.seconds
+    """, nativeQuery = true)
+    void subtractSegmentsOfSession(@Param("workSessionId") Long workSessionId);
+
+    // -------------------------------------------------------------------------
+    // Full rebuild
+    // -------------------------------------------------------------------------
+
+    /**
+     * Removes all rollup rows (first step of a full rebuild).
+     */
+    @Modifying
+    @Query(value = "DELETE FROM work_day_rollup", nativeQuery = true)
+    void deleteAllRows();
+
+    /**
+     * Recomputes segment rollup rows from {@code work_segment}.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO work_day_rollup (day_utc, category_id, activity_id, seconds)
+        SELECT start_date, category_id, activity_id, SUM(TIMESTAMPDIFF(SECOND, start_time, end_time))
+        FROM work_segment
+        WHERE end_time IS NOT NULL
+        GROUP BY start_date, category_id, activity_id
+    """, nativeQuery = true)
+    void insertSegmentRowsFromSource();
+
+    /**
+     * Recomputes session total rows (reserved key 0/0) from {@code work_session}.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO work_day_rollup (day_utc, category_id, activity_id, seconds)
+        SELECT start_date, 0, 0, SUM(TIMESTAMPDIFF(SECOND, start_time, end_time))
+        FROM work_session
+        WHERE end_time IS NOT NULL
+        GROUP BY start_date
+    """, nativeQuery = true)
+    void insertSessionRowsFromSource();
+
+    // -------------------------------------------------------------------------
+    // Reads
+    // -------------------------------------------------------------------------
+
+    /**
+     * Sums session and segment seconds over an inclusive UTC day range (both bounds optional).
+     * Reads only the primary key range of {@code work_day_rollup}, independent of the number of segments.
+     */
+    @Query(value = """
+        SELECT COALESCE(SUM(CASE WHEN category_id = 0 AND activity_id = 0 THEN seconds ELSE 0 END), 0) AS sessionSeconds,
+               COALESCE(SUM(CASE WHEN category_id = 0 AND activity_id = 0 THEN 0 ELSE seconds END), 0) AS segmentSeconds
+        FROM work_day_rollup
+        WHERE (:fromDay IS NULL OR day_utc >= :fromDay)
+          AND (:toDay IS NULL OR day_utc <= :toDay)
+    """, nativeQuery = true)
+    WorkDayRollupTotals sumBetween(@Param("fromDay") LocalDate fromDay, @Param("toDay") LocalDate toDay);
+
+    /**
+     * Compares the stored rollup against a fresh aggregation of the source tables and
+     * returns every key whose seconds differ (missing rows count as 0).
+     */
+    @Query(value = """
+        WITH expected AS (
+            SELECT start_date AS day_utc, category_id, activity_id,
+                   SUM(TIMESTAMPDIFF(SECOND, start_time, end_time)) AS seconds
+            FROM work_segment
+            WHERE end_time IS NOT NULL
+            GROUP BY start_date, category_id, activity_id
+            UNION ALL
+            SELECT start_date, 0, 0, SUM(TIMESTAMPDIFF(SECOND, start_time, end_time))
+            FROM work_session
+            WHERE end_time IS NOT NULL
+            GROUP BY start_date
+        )
+        SELECT e.day_utc AS dayUtc, e.category_id AS categoryId, e.activity_id AS activityId,
+               e.seconds AS expectedSeconds, COALESCE(r.seconds, 0) AS actualSeconds
+        FROM expected e
+        LEFT JOIN work_day_rollup r
+               ON r.day_utc = e.day_utc AND r.category_id = e.category_id AND r.activity_id = e.activity_id
+        WHERE COALESCE(r.seconds, 0) <> e.seconds
+        UNION ALL
+        SELECT r.day_utc, r.category_id, r.activity_id, 0, r.seconds
+        FROM work_day_rollup r
+        LEFT JOIN expected e
+               ON e.day_utc = r.day_utc AND e.category_id = r.category_id AND e.activity_id = r.activity_id
+        WHERE e.day_utc IS NULL AND r.seconds <> 0
+        ORDER BY 1, 2, 3
+    """, nativeQuery = true)
+    List<WorkDayRollupMismatch> findMismatches();
+}
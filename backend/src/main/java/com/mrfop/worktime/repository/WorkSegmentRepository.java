@@ -1,13 +1,17 @@
 package com.mrfop.worktime.repository;
 
 import com.mrfop.worktime.model.entity.WorkSegmentEntity;
+import com.mrfop.worktime.model.projection.WorkAggregateRow;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,15 +23,202 @@ public interface WorkSegmentRepository extends JpaRepository<WorkSegmentEntity,
     // -------------------------------------------------------------------------
 
     /**
-     * Returns all work segments ordered by start time descending (most recent first).
+     * Returns one page of work segments ordered by {@code (startTime, id)} descending (most recent first),
+     * strictly before the given keyset position ({@code null} = first page), with category and activity.
+     * Seeks via {@code idx_work_segment_start}.
      */
-    List<WorkSegmentEntity> findAllByOrderByStartTimeDesc();
+    @EntityGraph(attributePaths = { "category", "activity" })
+    @Query("""
+        select sg
+        from WorkSegmentEntity sg
+        where (:beforeStart is null
+               or sg.startTime < :beforeStart
+               or (sg.startTime = :beforeStart and sg.id < :beforeId))
+        order by sg.startTime desc, sg.id desc
+    """)
+    List<WorkSegmentEntity> findPageBefore(
+            @Param("beforeStart") Instant beforeStart,
+            @Param("beforeId") Long beforeId,
+            Limit limit
+    );
 
     /**
-     * Returns the most recent open work segment (endTime is null), if any.
+     * Returns the most recent open work segment (endTime is null), if any, with category and activity fetched
+     * in the same query (they are always mapped into the response).
      */
+    @EntityGraph(attributePaths = { "category", "activity" })
     Optional<WorkSegmentEntity> findTopByEndTimeIsNullOrderByStartTimeDesc();
 
+    // -------------------------------------------------------------------------
+    // Search (one query per filter shape, each backed by its own composite index)
+    // -------------------------------------------------------------------------
+
+    /**
+     * Search page of one category/activity pair: equality prefix and start range of
+     * {@code idx_work_segment_category_activity_start}, walked backwards in {@code (startTime, id)} order.
+     * The comment pattern ({@code !} escapes {@code %}/{@code _}) is a residual filter on the rows read.
+     */
+    @EntityGraph(attributePaths = { "category", "activity" })
+    @Query("""
+        select sg
+        from WorkSegmentEntity sg
+        where sg.category.id = :categoryId
+          and sg.activity.id = :activityId
+          and (:fromInclusive is null or sg.startTime >= :fromInclusive)
+          and (:toExclusive is null or sg.startTime < :toExclusive)
+          and (:commentPattern is null or sg.comment like :commentPattern escape '!')
+          and (:beforeStart is null
+               or sg.startTime < :beforeStart
+               or (sg.startTime = :beforeStart and sg.id < :beforeId))
+        order by sg.startTime desc, sg.id desc
+    """)
+    List<WorkSegmentEntity> searchByCategoryAndActivity(
+            @Param("categoryId") Long categoryId,
+            @Param("activityId") Long activityId,
+            @Param("fromInclusive") Instant fromInclusive,
+            @Param("toExclusive") Instant toExclusive,
+            @Param("commentPattern") String commentPattern,
+            @Param("beforeStart") Instant beforeStart,
+            @Param("beforeId") Long beforeId,
+            Limit limit
+    );
+
+    /**
+     * Search page of one category via {@code idx_work_segment_category_start};
+     * otherwise like {@link #searchByCategoryAndActivity}.
+     */
+    @EntityGraph(attributePaths = { "category", "activity" })
+    @Query("""
+        select sg
+        from WorkSegmentEntity sg
+        where sg.category.id = :categoryId
+          and (:fromInclusive is null or sg.startTime >= :fromInclusive)
+          and (:toExclusive is null or sg.startTime < :toExclusive)
+          and (:commentPattern is null or sg.comment like :commentPattern escape '!')
+          and (:beforeStart is null
+               or sg.startTime < :beforeStart
+               or (sg.startTime = :beforeStart and sg.id < :beforeId))
+        order by sg.startTime desc, sg.id desc
+    """)
+    List<WorkSegmentEntity> searchByCategory(
+            @Param("categoryId") Long categoryId,
+            @Param("fromInclusive") Instant fromInclusive,
+            @Param("toExclusive") Instant toExclusive,
+            @Param("commentPattern") String commentPattern,
+            @Param("beforeStart") Instant beforeStart,
+            @Param("beforeId") Long beforeId,
+            Limit limit
+    );
+
+    /**
+     * Search page of one activity via {@code idx_work_segment_activity_start};
+     * otherwise like {@link #searchByCategoryAndActivity}.
+     */
+    @EntityGraph(attributePaths = { "category", "activity" })
+    @Query("""
+        select sg
+        from WorkSegmentEntity sg
+        where sg.activity.id = :activityId
+          and (:fromInclusive is null or sg.startTime >= :fromInclusive)
+          and (:toExclusive is null or sg.startTime < :toExclusive)
+          and (:commentPattern is null or sg.comment like :commentPattern escape '!')
+          and (:beforeStart is null
+               or sg.startTime < :beforeStart
+               or (sg.startTime = :beforeStart and sg.id < :beforeId))
+        order by sg.startTime desc, sg.id desc
+    """)
+    List<WorkSegmentEntity> searchByActivity(
+            @Param("activityId") Long activityId,
+            @Param("fromInclusive") Instant fromInclusive,
+            @Param("toExclusive") Instant toExclusive,
+            @Param("commentPattern") String commentPattern,
+            @Param("beforeStart") Instant beforeStart,
+            @Param("beforeId") Long beforeId,
+            Limit limit
+    );
+
+    /**
+     * Search page without category/activity filter via {@code idx_work_segment_start};
+     * otherwise like {@link #searchByCategoryAndActivity}.
+     */
+    @EntityGraph(attributePaths = { "category", "activity" })
+    @Query("""
+        select sg
+        from WorkSegmentEntity sg
+        where (:fromInclusive is null or sg.startTime >= :fromInclusive)
+          and (:toExclusive is null or sg.startTime < :toExclusive)
+          and (:commentPattern is null or sg.comment like :commentPattern escape '!')
+          and (:beforeStart is null
+               or sg.startTime < :beforeStart
+               or (sg.startTime = :beforeStart and sg.id < :beforeId))
+        order by sg.startTime desc, sg.id desc
+    """)
+    List<WorkSegmentEntity> search(
+            @Param("fromInclusive") Instant fromInclusive,
+            @Param("toExclusive") Instant toExclusive,
+            @Param("commentPattern") String commentPattern,
+            @Param("beforeStart") Instant beforeStart,
+            @Param("beforeId") Long beforeId,
+            Limit limit
+    );
+
+    // -------------------------------------------------------------------------
+    // Aggregation (native, summed in the database)
+    // -------------------------------------------------------------------------
+
+    /**
+     * Sums segment seconds of segments starting in {@code [fromInclusive, toExclusive)} per local bucket
+     * ({@code DAY} / {@code WEEK} / {@code MONTH} local start date) and optionally per category / activity
+     * (ungrouped dimensions are returned as {@code 0}). Running segments are measured until {@code nowUtc}.
+     *
+     * <p>Local time is computed without the MariaDB time zone tables: {@code periods} is a JSON array of
+     * {@code {"from", "to", "offset"}} objects (UTC {@code DATETIME} strings and offset seconds) covering the range,
+     * split at the offset transitions of the zone. Each segment takes the offset of the period containing its start
+     * ({@code JSON_TABLE}, one row per period). The range predicate seeks via
+     * {@code idx_work_segment_start}; with a category/activity filter the optimizer can use the
+     * {@code idx_work_segment_(category_)activity_start} indexes instead.</p>
+     */
+    @Query(value = """
+        SELECT CASE :bucket
+                   WHEN 'DAY'  THEN DATE(sg.local_start)
+                   WHEN 'WEEK' THEN DATE(sg.local_start) - INTERVAL WEEKDAY(sg.local_start) DAY
+                   ELSE             DATE(sg.local_start) - INTERVAL (DAYOFMONTH(sg.local_start) - 1) DAY
+               END AS bucketStart,
+               CASE WHEN :byCategory THEN sg.category_id ELSE 0 END AS categoryId,
+               CASE WHEN :byActivity THEN sg.activity_id ELSE 0 END AS activityId,
+               SUM(sg.seconds) AS seconds
+        FROM (
+            SELECT ws.start_time + INTERVAL p.offset_seconds SECOND AS local_start,
+                   ws.category_id,
+                   ws.activity_id,
+                   TIMESTAMPDIFF(SECOND, ws.start_time, COALESCE(ws.end_time, :nowUtc)) AS seconds
+            FROM work_segment ws
+            JOIN JSON_TABLE(:periods, '$[*]' COLUMNS (
+                     period_start   DATETIME(3) PATH '$.from',
+                     period_end     DATETIME(3) PATH '$.to',
+                     offset_seconds INT         PATH '$.offset'
+                 )) p
+              ON ws.start_time >= p.period_start AND ws.start_time < p.period_end
+            WHERE ws.start_time >= :fromInclusive
+              AND ws.start_time < :toExclusive
+              AND (:categoryId IS NULL OR ws.category_id = :categoryId)
+              AND (:activityId IS NULL OR ws.activity_id = :activityId)
+        ) sg
+        GROUP BY bucketStart, categoryId, activityId
+        ORDER BY bucketStart, categoryId, activityId
+    """, nativeQuery = true)
+    List<WorkAggregateRow> aggregate(
+            @Param("nowUtc") Instant nowUtc,
+            @Param("fromInclusive") Instant fromInclusive,
+            @Param("toExclusive") Instant toExclusive,
+            @Param("periods") String periods,
+            @Param("bucket") String bucket,
+            @Param("byCategory") boolean byCategory,
+            @Param("byActivity") boolean byActivity,
+            @Param("categoryId") Long categoryId,
+            @Param("activityId") Long activityId
+    );
+
     // -------------------------------------------------------------------------
     // Concurrency control (pessimistic locks)
     // -------------------------------------------------------------------------
@@ -47,4 +238,15 @@ public interface WorkSegmentRepository extends JpaRepository<WorkSegmentEntity,
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select s from WorkSegmentEntity s where s.id = :id")
     Optional<WorkSegmentEntity> lockByIdForUpdate(@Param("id") Long id);
-}
\ No newline at end of file
+
+    // -------------------------------------------------------------------------
+    // Data version (conditional GET)
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns the latest {@code updated_at} of all rows, or {@code null} if the table is empty.
+     * Seeds the in-memory data version at startup.
+     */
+    @Query("select max(e.updatedAt) from WorkSegmentEntity e")
+    Instant findMaxUpdatedAt();
+}
@@ -1,8 +1,11 @@
 package com.mrfop.worktime.repository;
 
 import com.mrfop.worktime.model.entity.WorkSessionEntity;
+import com.mrfop.worktime.model.projection.WorkReportRow;
+import com.mrfop.worktime.model.projection.WorkSessionSummaryRow;
 import jakarta.persistence.LockModeType;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
@@ -11,6 +14,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,12 +32,32 @@ public interface WorkSessionRepository extends JpaRepository<WorkSessionEntity,
     Optional<WorkSessionEntity> findTopByEndTimeIsNullOrderByStartTimeDesc();
 
     /**
-     * Returns all work sessions ordered by start time descending (most recent first).
+     * Returns one page of work sessions ordered by {@code (startTime, id)} descending (most recent first),
+     * strictly before the given keyset position ({@code null} = first page). Seeks via {@code idx_work_session_start}.
      */
-    List<WorkSessionEntity> findAllByOrderByStartTimeDesc();
+    @Query("""
+        select ws
+        from WorkSessionEntity ws
+        where (:beforeStart is null
+               or ws.startTime < :beforeStart
+               or (ws.startTime = :beforeStart and ws.id < :beforeId))
+        order by ws.startTime desc, ws.id desc
+    """)
+    List<WorkSessionEntity> findPageBefore(
+            @Param("beforeStart") Instant beforeStart,
+            @Param("beforeId") Long beforeId,
+            Limit limit
+    );
 
     /**
-     * TODO: Description of the query that returns all work sessions overlapping
+     * Returns all work sessions overlapping the given range including segments, category and activity,
+     * ordered by start time descending. Running sessions are treated as ending at {@code nowUtc}.
+     *
+     * <p>All overlap queries in this repository use the same predicate. The end bound is written as
+     * {@code endTime > :from or (endTime is null and :now > :from)} instead of {@code coalesce(endTime, :now) > :from}:
+     * both branches are ranges of {@code idx_work_session_end} ({@code > from} and {@code IS NULL}), so the optimizer
+     * can range-scan either bound ({@code idx_work_session_start} for {@code < to}). Wrapping the column in
+     * {@code coalesce} would hide it from the index and force a scan of every session before {@code to}.</p>
      */
     @EntityGraph(attributePaths = {
         "segments",
@@ -43,7 +68,9 @@ public interface WorkSessionRepository extends JpaRepository<WorkSessionEntity,
         select ws
         from WorkSessionEntity ws
         where (:toExclusive is null or ws.startTime < :toExclusive)
-          and (:fromInclusive is null or coalesce(ws.endTime, :nowUtc) > :fromInclusive)
+          and (:fromInclusive is null
+               or ws.endTime > :fromInclusive
+               or (ws.endTime is null and :nowUtc > :fromInclusive))
         order by ws.startTime desc
     """)
     List<WorkSessionEntity> findOverlappingWithSegments(
@@ -52,6 +79,187 @@ public interface WorkSessionRepository extends JpaRepository<WorkSessionEntity,
             @Param("toExclusive") Instant toExclusive
     );
 
+    /**
+     * Returns the distinct UTC start days ({@code start_date}) of all work sessions overlapping the given range,
+     * newest first. Used by the cached day report to decide which days must be loaded from the database.
+     */
+    @Query("""
+        select distinct ws.startDate
+        from WorkSessionEntity ws
+        where (:toExclusive is null or ws.startTime < :toExclusive)
+          and (:fromInclusive is null
+               or ws.endTime > :fromInclusive
+               or (ws.endTime is null and :nowUtc > :fromInclusive))
+        order by ws.startDate desc
+    """)
+    List<LocalDate> findOverlappingStartDates(
+            @Param("nowUtc") Instant nowUtc,
+            @Param("fromInclusive") Instant fromInclusive,
+            @Param("toExclusive") Instant toExclusive
+    );
+
+    /**
+     * Returns all work sessions starting on the given UTC days including segments, category and activity,
+     * ordered by start time descending. Managed-entity counterpart of {@link #findReportRowsByStartDateIn(Collection)};
+     * reports use the projection, this query is the baseline of {@code WorkReportRowsBenchmarkTest}.
+     */
+    @EntityGraph(attributePaths = {
+        "segments",
+        "segments.category",
+        "segments.activity"
+    })
+    @Query("""
+        select ws
+        from WorkSessionEntity ws
+        where ws.startDate in :days
+        order by ws.startTime desc
+    """)
+    List<WorkSessionEntity> findAllWithSegmentsByStartDateIn(@Param("days") Collection<LocalDate> days);
+
+    /**
+     * Returns the ids of the next chunk of work sessions overlapping the given range, in keyset order
+     * {@code (startTime, id)} ascending, strictly after the given position.
+     * Used by the streaming day report to walk arbitrarily large ranges with a bounded page size.
+     */
+    @Query("""
+        select ws.id
+        from WorkSessionEntity ws
+        where (:toExclusive is null or ws.startTime < :toExclusive)
+          and (:fromInclusive is null
+               or ws.endTime > :fromInclusive
+               or (ws.endTime is null and :nowUtc > :fromInclusive))
+          and (:afterStart is null
+               or ws.startTime > :afterStart
+               or (ws.startTime = :afterStart and ws.id > :afterId))
+        order by ws.startTime asc, ws.id asc
+    """)
+    List<Long> findOverlappingIdsAfter(
+            @Param("nowUtc") Instant nowUtc,
+            @Param("fromInclusive") Instant fromInclusive,
+            @Param("toExclusive") Instant toExclusive,
+            @Param("afterStart") Instant afterStart,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    /**
+     * Returns the work sessions with the given ids including segments, category and activity,
+     * ordered by start time ascending (ties broken by id).
+     * Managed-entity counterpart of {@link #findReportRowsByIdIn(Collection)}; reports use the projection, this query
+     * is the baseline of {@code WorkReportRowsBenchmarkTest}.
+     */
+    @EntityGraph(attributePaths = {
+        "segments",
+        "segments.category",
+        "segments.activity"
+    })
+    @Query("""
+        select ws
+        from WorkSessionEntity ws
+        where ws.id in :ids
+        order by ws.startTime asc, ws.id asc
+    """)
+    List<WorkSessionEntity> findAllWithSegmentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // -------------------------------------------------------------------------
+    // Report projections (flat rows, no managed entities)
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns one flat row per (session, segment) for all work sessions starting on the given UTC days,
+     * ordered by session start time descending and segment start time ascending.
+     * Read-only alternative to {@link #findAllWithSegmentsByStartDateIn(Collection)} without entity hydration.
+     */
+    @Query("""
+        select new com.mrfop.worktime.model.projection.WorkReportRow(
+            ws.id, ws.startTime, ws.endTime,
+            sg.id, sg.startTime, sg.endTime, sg.comment, sg.createdAt, sg.updatedAt,
+            c.id, c.name, a.id, a.name)
+        from WorkSessionEntity ws
+        left join ws.segments sg
+        left join sg.category c
+        left join sg.activity a
+        where ws.startDate in :days
+        order by ws.startTime desc, ws.id desc, sg.startTime asc
+    """)
+    List<WorkReportRow> findReportRowsByStartDateIn(@Param("days") Collection<LocalDate> days);
+
+    /**
+     * Returns one flat row per (session, segment) for the given work session ids,
+     * ordered by session start time ascending (ties broken by id) and segment start time ascending.
+     * Read-only alternative to {@link #findAllWithSegmentsByIdIn(Collection)} without entity hydration.
+     */
+    @Query("""
+        select new com.mrfop.worktime.model.projection.WorkReportRow(
+            ws.id, ws.startTime, ws.endTime,
+            sg.id, sg.startTime, sg.endTime, sg.comment, sg.createdAt, sg.updatedAt,
+            c.id, c.name, a.id, a.name)
+        from WorkSessionEntity ws
+        left join ws.segments sg
+        left join sg.category c
+        left join sg.activity a
+        where ws.id in :ids
+        order by ws.startTime asc, ws.id asc, sg.startTime asc
+    """)
+    List<WorkReportRow> findReportRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns the latest {@code limit} work sessions newest first, each with its segment count and segment seconds
+     * (running segments measured until {@code nowUtc}).
+     * The derived table is a backward {@code LIMIT} scan of {@code idx_work_session_start}; segments are aggregated
+     * per session through {@code idx_work_segment_session_start}, so the cost is O(limit), not O(history).
+     * {@code :nowUtc} is cast in {@code lastSegmentEnd}: {@code COALESCE} with the bare bound parameter yields a string
+     * column, which the {@code LocalDateTime} projection cannot read.
+     */
+    @Query(value = """
+        SELECT ws.id AS id,
+               ws.start_time AS startTime,
+               ws.end_time AS endTime,
+               COUNT(sg.id) AS segmentCount,
+               COALESCE(SUM(TIMESTAMPDIFF(SECOND, sg.start_time, COALESCE(sg.end_time, :nowUtc))), 0) AS segmentSeconds,
+               MIN(sg.start_time) AS firstSegmentStart,
+               MAX(COALESCE(sg.end_time, CAST(:nowUtc AS DATETIME(3)))) AS lastSegmentEnd
+        FROM (
+            SELECT id, start_time, end_time
+            FROM work_session
+            ORDER BY start_time DESC, id DESC
+            LIMIT :limit
+        ) ws
+        LEFT JOIN work_segment sg ON sg.work_session_id = ws.id
+        GROUP BY ws.id, ws.start_time, ws.end_time
+        ORDER BY ws.start_time DESC, ws.id DESC
+    """, nativeQuery = true)
+    List<WorkSessionSummaryRow> findRecentSummaries(@Param("nowUtc") Instant nowUtc, @Param("limit") int limit);
+
+    /**
+     * Returns all work sessions overlapping the given range newest first, each with its segment count, segment seconds
+     * and segment span (running intervals measured until {@code nowUtc}).
+     * Session-only reports: one row per session ({@code GROUP BY} in the database) instead of one row per segment
+     * plus category and activity.
+     */
+    @Query(value = """
+        SELECT ws.id AS id,
+               ws.start_time AS startTime,
+               ws.end_time AS endTime,
+               COUNT(sg.id) AS segmentCount,
+               COALESCE(SUM(TIMESTAMPDIFF(SECOND, sg.start_time, COALESCE(sg.end_time, :nowUtc))), 0) AS segmentSeconds,
+               MIN(sg.start_time) AS firstSegmentStart,
+               MAX(COALESCE(sg.end_time, CAST(:nowUtc AS DATETIME(3)))) AS lastSegmentEnd
+        FROM work_session ws
+        LEFT JOIN work_segment sg ON sg.work_session_id = ws.id
+        WHERE (:toExclusive IS NULL OR ws.start_time < :toExclusive)
+          AND (:fromInclusive IS NULL
+               OR ws.end_time > :fromInclusive
+               OR (ws.end_time IS NULL AND :nowUtc > :fromInclusive))
+        GROUP BY ws.id, ws.start_time, ws.end_time
+        ORDER BY ws.start_time DESC, ws.id DESC
+    """, nativeQuery = true)
+    List<WorkSessionSummaryRow> findOverlappingSummaries(
+            @Param("nowUtc") Instant nowUtc,
+            @Param("fromInclusive") Instant fromInclusive,
+            @Param("toExclusive") Instant toExclusive
+    );
+
     // -------------------------------------------------------------------------
     // Concurrency control (pessimistic locks)
     // -------------------------------------------------------------------------
@@ -71,4 +279,15 @@ public interface WorkSessionRepository extends JpaRepository<WorkSessionEntity,
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select w from WorkSessionEntity w where w.id = :id")
     Optional<WorkSessionEntity> lockByIdForUpdate(Long id);
-}
\ No newline at end of file
+
+    // -------------------------------------------------------------------------
+    // Data version (conditional GET)
+    // -------------------------------------------------------------------------
+
+    /**
+     * Returns the latest {@code updated_at} of all rows, or {@code null} if the table is empty.
+     * Seeds the in-memory data version at startup.
+     */
+    @Query("select max(e.updatedAt) from WorkSessionEntity e")
+    Instant findMaxUpdatedAt();
+}
@@ -11,10 +11,13 @@ import com.mrfop.worktime.model.request.ActivityCreateRequest;
 import com.mrfop.worktime.model.request.ActivityPatchRequest;
 import com.mrfop.worktime.model.response.ActivityResponse;
 import com.mrfop.worktime.persistence.ActivityPersistence;
+import com.mrfop.worktime.service.event.ChangeType;
+import com.mrfop.worktime.service.event.TaxonomyChangedEvent;
 import com.mrfop.worktime.util.StringSanitizer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +29,7 @@ import java.util.List;
 public class ActivityService {
 
     private final ActivityPersistence persistence;
+    private final ApplicationEventPublisher events;
 
     /* ------------------------- READ ------------------------- */
 
@@ -42,7 +46,9 @@ public class ActivityService {
     public ActivityResponse create(ActivityCreateRequest request) {
         ActivityCreateRequest norm = normalizeAndValidateCreate(request);
         try {
-            return persistence.createAndFlush(norm);
+            ActivityResponse created = persistence.createAndFlush(norm);
+            publish(ChangeType.CREATED, created);
+            return created;
         } catch (DataIntegrityViolationException e) {
             throw new ConflictException(Subject.ACTIVITY, e);
         }
@@ -57,7 +63,9 @@ public class ActivityService {
         ActivityEntity entity = persistence.getByIdOrThrow(activityId);
 
         try {
-            return persistence.patchAndFlush(entity, norm);
+            ActivityResponse patched = persistence.patchAndFlush(entity, norm);
+            publish(ChangeType.UPDATED, patched);
+            return patched;
         } catch (DataIntegrityViolationException e) {
             throw new ConflictException(Subject.ACTIVITY, e);
         }
@@ -65,6 +73,10 @@ public class ActivityService {
 
     /* ------------------------- HELPERS ------------------------- */
 
+    private void publish(ChangeType type, ActivityResponse response) {
+        events.publishEvent(new TaxonomyChangedEvent(Subject.ACTIVITY, type, response.id(), response.updatedAt()));
+    }
+
     private ActivityCreateRequest normalizeAndValidateCreate(ActivityCreateRequest request) {
         String name = StringSanitizer.normalizeNonNull(request.name());
 
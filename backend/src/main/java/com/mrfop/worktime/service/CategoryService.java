@@ -11,10 +11,13 @@ import com.mrfop.worktime.model.request.CategoryCreateRequest;
 import com.mrfop.worktime.model.request.CategoryPatchRequest;
 import com.mrfop.worktime.model.response.CategoryResponse;
 import com.mrfop.worktime.persistence.CategoryPersistence;
+import com.mrfop.worktime.service.event.ChangeType;
+import com.mrfop.worktime.service.event.TaxonomyChangedEvent;
 import com.mrfop.worktime.util.StringSanitizer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +29,7 @@ import java.util.List;
 public class CategoryService {
 
     private final CategoryPersistence persistence;
+    private final ApplicationEventPublisher events;
 
     /* ------------------------- READ ------------------------- */
 
@@ -42,7 +46,9 @@ public class CategoryService {
     public CategoryResponse create(CategoryCreateRequest request) {
         CategoryCreateRequest norm = normalizeAndValidateCreate(request);
         try {
-            return persistence.createAndFlush(norm);
+            CategoryResponse created = persistence.createAndFlush(norm);
+            publish(ChangeType.CREATED, created);
+            return created;
         } catch (DataIntegrityViolationException e) {
             throw new ConflictException(Subject.CATEGORY, e);
         }
@@ -57,7 +63,9 @@ public class CategoryService {
         CategoryEntity entity = persistence.getByIdOrThrow(categoryId);
 
         try {
-            return persistence.patchAndFlush(entity, norm);
+            CategoryResponse patched = persistence.patchAndFlush(entity, norm);
+            publish(ChangeType.UPDATED, patched);
+            return patched;
         } catch (DataIntegrityViolationException e) {
             throw new ConflictException(Subject.CATEGORY, e);
         }
@@ -65,6 +73,10 @@ public class CategoryService {
 
     /* ------------------------- HELPERS ------------------------- */
 
+    private void publish(ChangeType type, CategoryResponse response) {
+        events.publishEvent(new TaxonomyChangedEvent(Subject.CATEGORY, type, response.id(), response.updatedAt()));
+    }
+
     private CategoryCreateRequest normalizeAndValidateCreate(CategoryCreateRequest request) {
         String rawName = request.name();
         String name = StringSanitizer.normalizeNonNull(rawName);
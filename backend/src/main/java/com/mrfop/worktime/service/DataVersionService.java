@@ -0,0 +1,151 @@
+package com.mrfop.worktime.service;
+
+import com.mrfop.worktime.model.entity.WorkSessionEntity;
+import com.mrfop.worktime.model.response.WorkSegmentResponse;
+import com.mrfop.worktime.model.response.WorkSessionResponse;
+import com.mrfop.worktime.repository.ActivityRepository;
+import com.mrfop.worktime.repository.CategoryRepository;
+import com.mrfop.worktime.repository.WorkSegmentRepository;
+import com.mrfop.worktime.repository.WorkSessionRepository;
+import com.mrfop.worktime.service.event.ChangeType;
+import com.mrfop.worktime.service.event.TaxonomyChangedEvent;
+import com.mrfop.worktime.service.event.WorkSegmentChangedEvent;
+import com.mrfop.worktime.service.event.WorkSessionChangedEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * In-memory data version used to answer conditional GETs ({@code ETag} / {@code If-None-Match}) without querying.
+ *
+ * <h2>Version model</h2>
+ * <ul>
+ *   <li><b>High-water mark</b>: seeded at startup from {@code max(updated_at)} of the tables (see {@link
+ *       com.mrfop.worktime.model.entity.audit.AuditedEntity}), then advanced after every committed write to at least the
+ *       written {@code updated_at} and at least one past the previous mark (writes within the same millisecond still
+ *       change the version).</li>
+ *   <li><b>Delete counter</b>: deletes leave no {@code updated_at} behind, so they are counted separately.</li>
+ *   <li><b>Boot id</b>: the startup time, because the delete counter restarts at 0.</li>
+ * </ul>
+ *
+ * <p>Two independent versions are kept: work data (sessions/segments) and taxonomy (categories/activities).
+ * Work responses embed category/activity names, so their tag covers both.</p>
+ *
+ * <p>The running state is kept next to the versions ({@link #isSessionRunning()}): responses measured until now carry
+ * no entity tag, and the check must not cost a query either.</p>
+ *
+ * <p>Only writes through this application instance are observed; direct database edits become visible after a
+ * restart.</p>
+ */
+@Service
+public class DataVersionService {
+
+    private final long bootId = System.currentTimeMillis();
+
+    private final Version work;
+    private final Version taxonomy;
+
+    // Id of the running work session (at most one), null if none
+    private final AtomicReference<Long> runningSessionId;
+
+    public DataVersionService(
+            WorkSessionRepository sessionRepo,
+            WorkSegmentRepository segmentRepo,
+            CategoryRepository categoryRepo,
+            ActivityRepository activityRepo
+    ) {
+        this.work = new Version(latest(sessionRepo.findMaxUpdatedAt(), segmentRepo.findMaxUpdatedAt()));
+        this.taxonomy = new Version(latest(categoryRepo.findMaxUpdatedAt(), activityRepo.findMaxUpdatedAt()));
+        this.runningSessionId = new AtomicReference<>(
+                sessionRepo.findTopByEndTimeIsNullOrderByStartTimeDesc().map(WorkSessionEntity::getId).orElse(null));
+    }
+
+    /* ------------------------- READ ------------------------- */
+
+    /**
+     * Weak entity tag for responses built from sessions/segments (including embedded category/activity names).
+     */
+    public String workEtag() {
+        return "W/\"w" + Long.toString(bootId, 36) + "-" + work + "-" + taxonomy + "\"";
+    }
+
+    /**
+     * Weak entity tag for category/activity responses.
+     */
+    public String taxonomyEtag() {
+        return "W/\"t" + Long.toString(bootId, 36) + "-" + taxonomy + "\"";
+    }
+
+    /**
+     * Whether a work session is running, as of the last committed write (no query).
+     */
+    public boolean isSessionRunning() {
+        return runningSessionId.get() != null;
+    }
+
+    /* ------------------------- LISTENERS ------------------------- */
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSessionChanged(WorkSessionChangedEvent event) {
+        WorkSessionResponse before = event.before();
+        WorkSessionResponse after = event.after();
+        work.advance(event.type(), after == null ? null : after.updatedAt());
+
+        if (after != null && after.endTime() == null) {
+            runningSessionId.set(after.id());
+        } else {
+            // Stopped, closed by a patch or deleted
+            Long id = after != null ? after.id() : before != null ? before.id() : null;
+            if (id != null) runningSessionId.compareAndSet(id, null);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSegmentChanged(WorkSegmentChangedEvent event) {
+        WorkSegmentResponse after = event.after();
+        work.advance(event.type(), after == null ? null : after.updatedAt());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaxonomyChanged(TaxonomyChangedEvent event) {
+        taxonomy.advance(event.type(), event.updatedAt());
+    }
+
+    /* ------------------------- HELPERS ------------------------- */
+
+    private static long latest(Instant... values) {
+        return Stream.of(values)
+                .filter(v -> v != null)
+                .mapToLong(Instant::toEpochMilli)
+                .max()
+                .orElse(0L);
+    }
+
+    private static final class Version {
+        private final AtomicLong highWater;
+        private final AtomicLong deletes = new AtomicLong();
+
+        private Version(long seed) {
+            this.highWater = new AtomicLong(seed);
+        }
+
+        private void advance(ChangeType type, Instant updatedAt) {
+            if (type == ChangeType.DELETED) {
+                deletes.incrementAndGet();
+                return;
+            }
+            long written = updatedAt == null ? 0L : updatedAt.toEpochMilli();
+            highWater.accumulateAndGet(written, (prev, w) -> Math.max(prev + 1, w));
+        }
+
+        @Override
+        public String toString() {
+            return Long.toString(highWater.get(), 36) + "." + deletes.get();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.mrfop.worktime.service;
+
+import com.mrfop.worktime.config.ExportJobProperties;
+import com.mrfop.worktime.exception.CapacityExceededException;
+import com.mrfop.worktime.exception.ConflictException;
+import com.mrfop.worktime.exception.NotFoundException;
+import com.mrfop.worktime.exception.OperationBlockedByRunningException;
+import com.mrfop.worktime.exception.base.LookupField;
+import com.mrfop.worktime.exception.base.Subject;
+import com.mrfop.worktime.model.enums.ExportJobStatus;
+import com.mrfop.worktime.model.request.WorkReportExportRequest;
+import com.mrfop.worktime.model.response.ExportJobResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Asynchronous PDF exports.
+ *
+ * <p>A submitted export is validated immediately (parameters, running guard: same errors as the synchronous export)
+ * and then rendered by a bounded worker pool ({@code worktime.export.jobs.workers}, at most
+ * {@code queue-capacity} waiting). A full queue rejects the submission with 429 and {@code Retry-After}. The guard is
+ * checked again when a worker picks the job up: a session or segment started while the job was queued fails it
+ * instead of exporting a running interval.</p>
+ *
+ * <p>Artifacts are rendered into {@code <spool-dir>/<id>.pdf.part} and renamed on success, so a visible artifact is
+ * always complete. Any failure of a picked-up job (guard, database, rendering) ends it as {@code FAILED} with an error
+ * message; the worker never lets an exception escape. Jobs are kept in memory: finished jobs and their files are deleted after {@code ttl}, and job files
+ * left over from a previous run ({@code <uuid>.pdf[.part]}) are deleted at startup; other files in the spool directory
+ * are never touched.</p>
+ */
+@Service
+public class ExportJobService {
+
+    private static final String ARTIFACT_SUFFIX = ".pdf";
+    private static final String PARTIAL_SUFFIX = ".pdf.part";
+
+    // Names written by this service only: <job id (random UUID)>.pdf / .pdf.part
+    private static final Pattern JOB_FILE = Pattern.compile(
+            "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.pdf(\\.part)?");
+
+    private final WorkReportExportService exportService;
+    private final ExportJobProperties properties;
+    private final Path spoolDir;
+    private final ThreadPoolExecutor workers;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public ExportJobService(WorkReportExportService exportService, ExportJobProperties properties, MeterRegistry meterRegistry) {
+        this.exportService = exportService;
+        this.properties = properties;
+        this.spoolDir = properties.spoolDir() != null
+                ? properties.spoolDir()
+                : Path.of(System.getProperty("java.io.tmpdir"), "worktime-exports");
+
+        AtomicInteger threadIds = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+                properties.workers(), properties.workers(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                task -> {
+                    Thread t = new Thread(task, "export-job-" + threadIds.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder("worktime.export.jobs.queued", workers, w -> w.getQueue().size())
+                .description("Export jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("worktime.export.jobs.running", workers, ThreadPoolExecutor::getActiveCount)
+                .description("Export jobs being rendered")
+                .register(meterRegistry);
+
+        prepareSpoolDir();
+    }
+
+    /* ------------------------- ACTIONS ------------------------- */
+
+    /**
+     * Validates the request and queues the export; returns the new job (status {@code QUEUED}).
+     */
+    public ExportJobResponse submit(WorkReportExportRequest req) {
+        Job job = new Job(UUID.randomUUID().toString(), exportService.buildFilename(req), Instant.now());
+
+        // Validation and running guard happen here, in the request thread (and again when the job starts)
+        exportService.streamPdf(req);
+
+        jobs.put(job.id, job);
+        try {
+            workers.execute(() -> run(job, req));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new CapacityExceededException(Subject.EXPORT_JOB, estimatedWait());
+        }
+        return job.toResponse(properties.ttl());
+    }
+
+    /**
+     * Deletes a finished job and its artifact. Queued and running jobs cannot be deleted.
+     */
+    public void delete(String id) {
+        Job job = require(id);
+        if (!job.isFinished()) {
+            throw new ConflictException(Subject.EXPORT_JOB, "Export job is not finished: status=" + job.status);
+        }
+        remove(job);
+    }
+
+    /* ------------------------- READ ------------------------- */
+
+    public ExportJobResponse get(String id) {
+        return require(id).toResponse(properties.ttl());
+    }
+
+    /**
+     * Returns the artifact of a finished job; 409 while the job is queued, running or failed.
+     */
+    public Artifact artifact(String id) {
+        Job job = require(id);
+        if (job.status != ExportJobStatus.DONE) {
+            throw new ConflictException(Subject.EXPORT_JOB, "Export job has no artifact: status=" + job.status);
+        }
+        return new Artifact(artifactPath(job.id), job.filename, job.finishedAt);
+    }
+
+    /**
+     * Finished export file.
+     */
+    public record Artifact(Path path, String filename, Instant lastModified) {}
+
+    /* ------------------------- MAINTENANCE ------------------------- */
+
+    /**
+     * Removes finished jobs older than {@code ttl} together with their artifacts.
+     */
+    @Scheduled(fixedDelayString = "${worktime.export.jobs.cleanup-interval:5m}")
+    public void removeExpired() {
+        Instant cutoff = Instant.now().minus(properties.ttl());
+        jobs.values().stream()
+                .filter(j -> j.isFinished() && j.finishedAt.isBefore(cutoff))
+                .toList()
+                .forEach(this::remove);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /* ------------------------- HELPERS ------------------------- */
+
+    private void run(Job job, WorkReportExportRequest req) {
+        job.status = ExportJobStatus.RUNNING;
+        Path partial = spoolDir.resolve(job.id + PARTIAL_SUFFIX);
+
+        WorkReportExportService.ExportStream pdf;
+        try {
+            // A session/segment may have been started while the job was queued
+            pdf = exportService.streamPdf(req, job::reportProgress);
+        } catch (OperationBlockedByRunningException e) {
+            job.finish(ExportJobStatus.FAILED, e.getMessage());
+            return;
+        } catch (RuntimeException e) {
+            // E.g. the database behind the guard; nothing escapes the worker, so a job never stays RUNNING
+            job.finish(ExportJobStatus.FAILED, "Preparing the export failed");
+            return;
+        }
+
+        try {
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                pdf.writeTo(out);
+            }
+            Path artifact = Files.move(partial, artifactPath(job.id), StandardCopyOption.ATOMIC_MOVE);
+
+            job.sizeBytes = Files.size(artifact);
+            job.progress = 1;
+            job.finish(ExportJobStatus.DONE, null);
+        } catch (Exception e) {
+            deleteQuietly(partial);
+            job.finish(ExportJobStatus.FAILED, "Rendering failed");
+        }
+    }
+
+    private Job require(String id) {
+        Job job = jobs.get(id);
+        if (job == null) throw new NotFoundException(Subject.EXPORT_JOB, LookupField.ID, id);
+        return job;
+    }
+
+    private void remove(Job job) {
+        jobs.remove(job.id);
+        deleteQuietly(artifactPath(job.id));
+    }
+
+    private Path artifactPath(String id) {
+        return spoolDir.resolve(id + ARTIFACT_SUFFIX);
+    }
+
+    // Rough wait until a queue slot frees up: one render per queued job ahead, spread over the workers
+    private Duration estimatedWait() {
+        return Duration.ofSeconds(5L * Math.max(1, workers.getQueue().size() / properties.workers()));
+    }
+
+    // Jobs live in memory only: files of a previous run cannot be claimed anymore
+    private void prepareSpoolDir() {
+        try {
+            Files.createDirectories(spoolDir);
+            try (Stream<Path> files = Files.list(spoolDir)) {
+                files.filter(f -> JOB_FILE.matcher(f.getFileName().toString()).matches())
+                        .forEach(ExportJobService::deleteQuietly);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare export spool directory " + spoolDir, e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Left for the startup cleanup (job files only)
+        }
+    }
+
+    /**
+     * Mutable job state; written by one worker, read by status requests.
+     */
+    private static final class Job {
+        final String id;
+        final String filename;
+        final Instant createdAt;
+
+        volatile ExportJobStatus status = ExportJobStatus.QUEUED;
+        volatile double progress;
+        volatile Long sizeBytes;
+        volatile Instant finishedAt;
+        volatile String error;
+
+        Job(String id, String filename, Instant createdAt) {
+            this.id = id;
+            this.filename = filename;
+            this.createdAt = createdAt;
+        }
+
+        void reportProgress(double share) {
+            progress = Math.min(1, share);
+        }
+
+        void finish(ExportJobStatus result, String reason) {
+            error = reason;
+            finishedAt = Instant.now();
+            status = result; // last: readers seeing DONE also see the fields above
+        }
+
+        boolean isFinished() {
+            return status == ExportJobStatus.DONE || status == ExportJobStatus.FAILED;
+        }
+
+        ExportJobResponse toResponse(Duration ttl) {
+            ExportJobStatus s = status;
+            Instant finished = finishedAt;
+            return new ExportJobResponse(
+                    id, s, (int) Math.floor(progress * 100), filename, sizeBytes,
+                    createdAt, finished, finished != null ? finished.plus(ttl) : null, error
+            );
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.mrfop.worktime.service;
+
+import com.mrfop.worktime.model.response.WorkChangeResponse;
+import com.mrfop.worktime.model.response.WorkSegmentResponse;
+import com.mrfop.worktime.model.response.WorkSessionResponse;
+import com.mrfop.worktime.service.event.WorkSegmentChangedEvent;
+import com.mrfop.worktime.service.event.WorkSessionChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Pushes committed session/segment changes to connected clients as Server-Sent Events.
+ *
+ * <h2>Events</h2>
+ * <ul>
+ *   <li>{@value #EVENT_WORK_SESSION} / {@value #EVENT_WORK_SEGMENT}: a {@link WorkChangeResponse} with the before/after
+ *       state, sent after commit (rolled back writes are never pushed).</li>
+ *   <li>{@value #EVENT_RESYNC}: the requested position is no longer replayable (server restart or buffer overflow);
+ *       the client must reload its state over REST.</li>
+ *   <li>A comment line every {@link #HEARTBEAT_INTERVAL_MS} ms keeps proxies from closing idle connections and
+ *       detects dead clients.</li>
+ * </ul>
+ *
+ * <h2>Replay</h2>
+ * <p>Event ids are {@code <bootId>-<sequence>}. The last {@value #REPLAY_CAPACITY} events are kept; a reconnecting
+ * client (browser {@code EventSource} sends {@code Last-Event-ID} automatically) receives every event after its last
+ * id before any new event.</p>
+ *
+ * <h2>Threading</h2>
+ * <p>Buffering, registration and the snapshot of the connected clients are serialized on one lock; the actual writes
+ * run on a single dedicated sender thread, in the order they were handed over under that lock. Events therefore reach
+ * every client exactly once and in commit order, while a slow client never blocks the committing request thread or
+ * other writers. Each client gets its own event instance ({@link SseEmitter.SseEventBuilder} is mutable).</p>
+ */
+@Service
+public class LiveEventService {
+
+    public static final String EVENT_WORK_SESSION = "workSession";
+    public static final String EVENT_WORK_SEGMENT = "workSegment";
+    public static final String EVENT_RESYNC = "resync";
+
+    private static final int REPLAY_CAPACITY = 256;
+    private static final long HEARTBEAT_INTERVAL_MS = 20_000;
+
+    // Clients reconnect on their own; a bounded lifetime releases connections of vanished clients
+    private static final Duration EMITTER_TIMEOUT = Duration.ofMinutes(30);
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Object lock = new Object();
+    private final Deque<Entry> buffer = new ArrayDeque<>(REPLAY_CAPACITY);
+    private final List<SseEmitter> emitters = new ArrayList<>();
+    private long sequence;
+
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(task -> {
+        Thread t = new Thread(task, "live-events");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public LiveEventService(MeterRegistry meterRegistry) {
+        Gauge.builder("worktime.sse.clients", this, s -> s.clientCount())
+                .description("Connected live event clients")
+                .register(meterRegistry);
+    }
+
+    /* ------------------------- SUBSCRIBE ------------------------- */
+
+    /**
+     * Registers a new client and replays the events after {@code lastEventId} (optional).
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT.toMillis());
+        emitter.onCompletion(() -> remove(emitter));
+        emitter.onTimeout(() -> remove(emitter));
+        emitter.onError(e -> remove(emitter));
+
+        synchronized (lock) {
+            List<Supplier<SseEmitter.SseEventBuilder>> backlog = replay(lastEventId);
+            emitters.add(emitter);
+
+            // Queued before any later event, so the replay stays ahead of live events for this client
+            if (!backlog.isEmpty()) sender.execute(() -> send(emitter, backlog));
+        }
+        return emitter;
+    }
+
+    /* ------------------------- LISTENERS ------------------------- */
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSessionChanged(WorkSessionChangedEvent event) {
+        publish(EVENT_WORK_SESSION, new WorkChangeResponse<WorkSessionResponse>(event.type(), event.before(), event.after()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSegmentChanged(WorkSegmentChangedEvent event) {
+        publish(EVENT_WORK_SEGMENT, new WorkChangeResponse<WorkSegmentResponse>(event.type(), event.before(), event.after()));
+    }
+
+    @Scheduled(fixedRate = HEARTBEAT_INTERVAL_MS, initialDelay = HEARTBEAT_INTERVAL_MS)
+    public void heartbeat() {
+        synchronized (lock) {
+            sendToAll(() -> SseEmitter.event().comment("ping"));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    /* ------------------------- HELPERS ------------------------- */
+
+    private void publish(String name, Object data) {
+        synchronized (lock) {
+            Entry entry = new Entry(++sequence, name, data);
+
+            if (buffer.size() == REPLAY_CAPACITY) buffer.removeFirst();
+            buffer.addLast(entry);
+
+            sendToAll(() -> toEvent(entry));
+        }
+    }
+
+    // Called under the lock; returns the events the client missed (or a resync), built lazily per send
+    private List<Supplier<SseEmitter.SseEventBuilder>> replay(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) return List.of();
+
+        long last = parseSequence(lastEventId.trim());
+        long oldest = buffer.isEmpty() ? sequence + 1 : buffer.getFirst().sequence();
+
+        // Unknown boot, a future id or events already dropped from the buffer: state cannot be rebuilt from events
+        if (last < 0 || last > sequence || last + 1 < oldest) {
+            String resyncId = eventId(sequence);
+            return List.of(() -> SseEmitter.event().id(resyncId).name(EVENT_RESYNC).data(""));
+        }
+
+        List<Supplier<SseEmitter.SseEventBuilder>> backlog = new ArrayList<>();
+        for (Entry entry : buffer) {
+            if (entry.sequence() > last) backlog.add(() -> toEvent(entry));
+        }
+        return backlog;
+    }
+
+    // Called under the lock: snapshots the clients and hands the writes to the sender thread
+    private void sendToAll(Supplier<SseEmitter.SseEventBuilder> event) {
+        if (emitters.isEmpty()) return;
+
+        List<SseEmitter> targets = List.copyOf(emitters);
+        List<Supplier<SseEmitter.SseEventBuilder>> events = List.of(event);
+        sender.execute(() -> targets.forEach(emitter -> send(emitter, events)));
+    }
+
+    // Sender thread only; never holds the lock while writing
+    private void send(SseEmitter emitter, List<Supplier<SseEmitter.SseEventBuilder>> events) {
+        try {
+            for (Supplier<SseEmitter.SseEventBuilder> event : events) emitter.send(event.get());
+        } catch (IOException | IllegalStateException e) {
+            // Client gone (disconnected or already completed): drop it
+            remove(emitter);
+            emitter.complete();
+        }
+    }
+
+    private void remove(SseEmitter emitter) {
+        synchronized (lock) {
+            emitters.remove(emitter);
+        }
+    }
+
+    private int clientCount() {
+        synchronized (lock) {
+            return emitters.size();
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toEvent(Entry entry) {
+        return SseEmitter.event().id(eventId(entry.sequence())).name(entry.name()).data(entry.data());
+    }
+
+    private String eventId(long seq) {
+        return bootId + "-" + seq;
+    }
+
+    // Returns -1 for ids of another boot or malformed ids
+    private long parseSequence(String id) {
+        int sep = id.lastIndexOf('-');
+        if (sep <= 0 || !id.substring(0, sep).equals(bootId)) return -1;
+
+        try {
+            return Long.parseLong(id.substring(sep + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private record Entry(long sequence, String name, Object data) {}
+}
@@ -0,0 +1,234 @@
+package com.mrfop.worktime.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.mrfop.worktime.config.ExportCacheProperties;
+import com.mrfop.worktime.exception.base.LookupField;
+import com.mrfop.worktime.exception.base.Subject;
+import com.mrfop.worktime.model.request.WorkReportExportRequest;
+import com.mrfop.worktime.util.ParsingUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Rendered PDF exports, shared by identical requests.
+ *
+ * <h2>Key</h2>
+ * <p>The normalized request ({@code from}, {@code to}, zone, locale, {@code showSegments}) plus the work data version
+ * ({@link DataVersionService#workEtag()}). Any committed session/segment/taxonomy write changes the version, so an
+ * export is never served from data older than the last write. The version is global rather than per range: a
+ * per-range stamp (e.g. {@code max(updated_at)}) cannot see deletes. Old entries are not reachable after a write and
+ * age out.</p>
+ *
+ * <h2>Single flight</h2>
+ * <p>The first caller of a key installs a future and renders on its own thread; concurrent callers of the same key
+ * wait for that future instead of rendering again. A failed render is removed, so the next caller retries.</p>
+ *
+ * <h2>Storage and eviction</h2>
+ * <p>Renders are streamed into files (bounded memory, see {@link WorkReportExportService#streamPdf}); the cache holds
+ * the paths, weighed by file size ({@code worktime.export.cache.max-size}) and expired after {@code ttl}. Callers get
+ * the path itself (served as a file resource, so {@code Range} requests work); evicted files are therefore deleted
+ * only after {@link #DELETE_GRACE}, long enough for a response handed the path just before the eviction to open it.
+ * Hit/miss/eviction metrics: {@code cache.*{cache=reportExports}}.</p>
+ */
+@Service
+public class RenderedExportCache {
+
+    public static final String CACHE_NAME = "reportExports";
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration DELETE_GRACE = Duration.ofMinutes(1);
+
+    // Names written by this cache only: <random UUID>.pdf
+    private static final Pattern CACHE_FILE = Pattern.compile(
+            "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.pdf");
+
+    private final WorkReportExportService exportService;
+    private final DataVersionService dataVersion;
+    private final boolean enabled;
+    private final Path dir;
+    private final AsyncCache<Key, Path> cache;
+
+    public RenderedExportCache(
+            WorkReportExportService exportService,
+            DataVersionService dataVersion,
+            ExportCacheProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.exportService = exportService;
+        this.dataVersion = dataVersion;
+        this.enabled = properties.enabled();
+        this.dir = properties.dir() != null
+                ? properties.dir()
+                : Path.of(System.getProperty("java.io.tmpdir"), "worktime-export-cache");
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(Math.max(1, properties.maxSize().toKilobytes()))
+                .<Key, Path>weigher((key, file) -> weightKb(file))
+                .expireAfterWrite(properties.ttl())
+                .removalListener((Key key, Path file, RemovalCause cause) -> {
+                    if (file != null) deleteLater(file);
+                })
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        prepareDir();
+    }
+
+    /* ------------------------- READ ------------------------- */
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the rendered export for the request, rendering it at most once per key.
+     *
+     * <p>Validation and the running guard run first on every call (a cached export must not bypass them).</p>
+     */
+    public RenderedExport get(WorkReportExportRequest req) {
+        WorkReportExportService.ExportStream pdf = exportService.streamPdf(req);
+        Key key = Key.of(req, dataVersion.workEtag());
+
+        // A waiter can join a file whose deletion is already due; it then retries (usually as the owner)
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            RenderedExport export = lookup(key, pdf);
+            if (export != null) return export;
+        }
+        throw new IllegalStateException("Rendered export evicted before it could be read: " + key);
+    }
+
+    /**
+     * Cached export file; stays on disk for at least {@link #DELETE_GRACE} after the entry is evicted.
+     */
+    public record RenderedExport(Path file, long size) {}
+
+    /* ------------------------- HELPERS ------------------------- */
+
+    // Export, or null if a shared file was already deleted
+    private RenderedExport lookup(Key key, WorkReportExportService.ExportStream pdf) {
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> shared = cache.get(key, (k, executor) -> mine);
+
+        if (shared == mine) {
+            try {
+                Path file = render(pdf);
+                // Measured before publishing: an export above max-size is evicted right away
+                RenderedExport export = open(file);
+                mine.complete(file);
+                return export;
+            } catch (NoSuchFileException e) {
+                mine.completeExceptionally(e);
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e); // removed from the cache by Caffeine
+                throw e;
+            }
+        }
+
+        Path file;
+        try {
+            file = shared.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+
+        try {
+            return open(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static RenderedExport open(Path file) throws NoSuchFileException {
+        try {
+            return new RenderedExport(file, Files.size(file));
+        } catch (NoSuchFileException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path render(WorkReportExportService.ExportStream pdf) {
+        Path file = dir.resolve(UUID.randomUUID() + ".pdf");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            pdf.writeTo(out);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            if (e instanceof RuntimeException re) throw re;
+            throw new UncheckedIOException((IOException) e);
+        }
+    }
+
+    private static int weightKb(Path file) {
+        try {
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(1, Files.size(file) / 1024));
+        } catch (IOException e) {
+            return 1;
+        }
+    }
+
+    // Entries live in memory only: files of a previous run are orphans (other files in the directory are kept)
+    private void prepareDir() {
+        try {
+            Files.createDirectories(dir);
+            try (Stream<Path> files = Files.list(dir)) {
+                files.filter(f -> CACHE_FILE.matcher(f.getFileName().toString()).matches()).forEach(RenderedExportCache::deleteQuietly);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare export cache directory " + dir, e);
+        }
+    }
+
+    private static void deleteLater(Path file) {
+        CompletableFuture.delayedExecutor(DELETE_GRACE.toMillis(), TimeUnit.MILLISECONDS)
+                .execute(() -> deleteQuietly(file));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Left for prepareDir at the next start (cache files only)
+        }
+    }
+
+    /**
+     * Normalized export parameters plus the data version they were rendered from.
+     */
+    private record Key(Instant from, Instant to, String zone, String locale, boolean segments, String version) {
+
+        static Key of(WorkReportExportRequest req, String version) {
+            // Already validated by streamPdf; parsed again only to normalize equivalent spellings
+            return new Key(
+                    ParsingUtil.parseInstantIsoRequired(req.from(), Subject.WORK_REPORT, LookupField.FROM),
+                    ParsingUtil.parseInstantIsoRequired(req.to(), Subject.WORK_REPORT, LookupField.TO),
+                    ParsingUtil.parseZoneRequired(req.tz(), Subject.WORK_REPORT, LookupField.TZ).getId(),
+                    ParsingUtil.parseLocaleRequired(req.locale(), Subject.WORK_REPORT, LookupField.LOCALE).toLanguageTag(),
+                    req.showSegments(),
+                    version
+            );
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.mrfop.worktime.service;
+
+import com.mrfop.worktime.config.WarmupProperties;
+import com.mrfop.worktime.model.enums.ActiveStatus;
+import com.mrfop.worktime.model.enums.ReportFormat;
+import com.mrfop.worktime.model.request.WorkReportDaysRequest;
+import com.mrfop.worktime.model.response.WorkDayResponse;
+import com.mrfop.worktime.model.response.WorkDaySessionResponse;
+import com.mrfop.worktime.model.response.WorkSegmentResponse;
+import com.mrfop.worktime.service.jasper.FilledReport;
+import com.mrfop.worktime.service.jasper.JasperRenderer;
+import com.mrfop.worktime.service.jasper.model.mapper.WorkReportPdfMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warms up caches and the report pipeline before the application reports readiness.
+ *
+ * <p>Runs as an {@link ApplicationRunner}: Spring Boot publishes {@code ReadinessState.ACCEPTING_TRAFFIC} only after
+ * all runners finished, so {@code /actuator/health/readiness} stays {@code OUT_OF_SERVICE} until the warm-up is done.
+ * Steps:</p>
+ * <ol>
+ *     <li>taxonomy and current-state caches (categories/activities per status, current session/segment)</li>
+ *     <li>report queries over the last {@code report-days} days, with and without segments (query plans, day cache)</li>
+ *     <li>dummy reports through {@link WorkReportPdfMapper} and {@link JasperRenderer} (fill + export per format,
+ *     {@code render-rounds} times): Jasper class loading, expression evaluators, fonts and the JIT</li>
+ * </ol>
+ *
+ * <p>A failing step is skipped: the warm-up only shifts cost away from the first user and must not keep the
+ * application from starting. Durations: {@code worktime.warmup{step}}; failed steps are counted in
+ * {@code worktime.warmup.failures{step}}.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupRunner implements ApplicationRunner {
+
+    private final WarmupProperties properties;
+
+    private final CategoryService categoryService;
+    private final ActivityService activityService;
+    private final WorkSessionService sessionService;
+    private final WorkSegmentService segmentService;
+    private final WorkReportService reportService;
+
+    private final WorkReportPdfMapper mapper;
+    private final JasperRenderer renderer;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.enabled()) return;
+
+        ZoneId zone = ZoneId.systemDefault();
+
+        step("caches", () -> {
+            for (ActiveStatus status : ActiveStatus.values()) {
+                categoryService.findByStatus(status);
+                activityService.findByStatus(status);
+            }
+            sessionService.current();
+            segmentService.current();
+        });
+
+        step("queries", () -> {
+            Instant to = LocalDate.now(zone).plusDays(1).atStartOfDay(zone).toInstant();
+            Instant from = to.minus(properties.reportDays(), ChronoUnit.DAYS);
+            reportService.days(new WorkReportDaysRequest(from, to, zone.getId(), true));
+            reportService.days(new WorkReportDaysRequest(from, to, zone.getId(), false));
+        });
+
+        step("render", () -> {
+            for (int round = 0; round < properties.renderRounds(); round++) {
+                for (ReportFormat format : properties.formats()) {
+                    renderDummy(format, zone);
+                }
+            }
+        });
+    }
+
+    /* ------------------------- HELPERS ------------------------- */
+
+    private void step(String name, Runnable action) {
+        try {
+            Timer.builder("worktime.warmup")
+                    .description("Startup warm-up steps")
+                    .tag("step", name)
+                    .register(meterRegistry)
+                    .record(action);
+        } catch (RuntimeException e) {
+            Counter.builder("worktime.warmup.failures")
+                    .description("Failed startup warm-up steps (skipped)")
+                    .tag("step", name)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    // Synthetic days (no database access): every subreport and label of the real pipeline is filled
+    private void renderDummy(ReportFormat format, ZoneId zone) {
+        LocalDate today = LocalDate.now(zone);
+        List<WorkDayResponse> days = new ArrayList<>();
+
+        for (int i = 0; i < properties.reportDays(); i++) {
+            LocalDate day = today.minusDays(i);
+            Instant start = day.atTime(9, 0).atZone(zone).toInstant();
+            Instant segmentEnd = start.plus(50, ChronoUnit.MINUTES);
+            Instant end = start.plus(1, ChronoUnit.HOURS);
+
+            WorkSegmentResponse segment = new WorkSegmentResponse(
+                    (long) i, (long) i, 0L, "Warm-up", 0L, "Warm-up", start, segmentEnd, "Warm-up", start, start);
+            WorkDaySessionResponse session = new WorkDaySessionResponse(
+                    (long) i, start, end, 3600, 3000, 600, List.of(segment));
+            days.add(new WorkDayResponse(day, zone.getId(), 3600, 3000, 600, List.of(session)));
+        }
+
+        Instant from = today.minusDays(properties.reportDays() - 1L).atStartOfDay(zone).toInstant();
+        Instant to = today.plusDays(1).atStartOfDay(zone).toInstant();
+
+        try (FilledReport report = renderer.fill(
+                mapper.toPdfHeader(from, to, zone, properties.locale()),
+                new JRBeanCollectionDataSource(mapper.toDayPdfs(days, zone, properties.locale(), true))
+        )) {
+            renderer.export(report, format, OutputStream.nullOutputStream());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.mrfop.worktime.service;
+
+import com.mrfop.worktime.model.response.WorkSegmentResponse;
+import com.mrfop.worktime.model.response.WorkSessionResponse;
+import com.mrfop.worktime.service.event.ChangeType;
+import com.mrfop.worktime.service.event.TaxonomyChangedEvent;
+import com.mrfop.worktime.service.event.WorkSegmentChangedEvent;
+import com.mrfop.worktime.service.event.WorkSessionChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-through maintenance of the {@code workSessions} / {@code workSegments} caches.
+ *
+ * <h2>Keys</h2>
+ * <ul>
+ *   <li>{@value #CURRENT_KEY}: the running row (or none), read by every dashboard poll.</li>
+ *   <li>{@value #PAGE_KEY_PREFIX}{@code <generation>:<limit>:<cursor>}: keyset pages of the list endpoints, built by
+ *       {@link #sessionPageKey} / {@link #segmentPageKey}.</li>
+ * </ul>
+ *
+ * <h2>Updates (after commit)</h2>
+ * <ul>
+ *   <li>{@code 'current'} is overwritten with the written response when the row is (still) running, and with "none"
+ *       when the previously running row was stopped or deleted. Writes to closed rows leave it untouched.</li>
+ *   <li>Every write advances the page generation of its cache. Pages cached under the old generation are never read
+ *       again and age out; a page load still in flight when the write commits stores its (stale) result under the old
+ *       key as well, so it can never be hit. Only the Spring {@link Cache} abstraction is used.</li>
+ *   <li>Deleting a session cascades to its segments in the database, so the segment pages are dropped too, and
+ *       {@code 'current'} of the segments as well if the deleted session was running.</li>
+ *   <li>Category/activity renames clear the segment cache, because names are embedded in every segment.</li>
+ * </ul>
+ *
+ * <p>Reads use {@code @Cacheable(sync = true)}: concurrent misses on one key wait for a single load, and a put from
+ * this listener waits for an in-flight load of the same key instead of being overwritten by it.</p>
+ */
+@Component
+public class WorkCacheUpdater {
+
+    public static final String SESSIONS = "workSessions";
+    public static final String SEGMENTS = "workSegments";
+
+    public static final String CURRENT_KEY = "current";
+    public static final String PAGE_KEY_PREFIX = "page:";
+
+    private final Cache sessions;
+    private final Cache segments;
+
+    private final AtomicLong sessionPages = new AtomicLong();
+    private final AtomicLong segmentPages = new AtomicLong();
+
+    public WorkCacheUpdater(CacheManager cacheManager) {
+        this.sessions = Objects.requireNonNull(cacheManager.getCache(SESSIONS), SESSIONS);
+        this.segments = Objects.requireNonNull(cacheManager.getCache(SEGMENTS), SEGMENTS);
+    }
+
+    /* ------------------------- KEYS ------------------------- */
+
+    /**
+     * Cache key of a session page ({@code @Cacheable(key = "@workCacheUpdater.sessionPageKey(#limit, #before)")}).
+     */
+    public String sessionPageKey(int limit, String before) {
+        return pageKey(sessionPages, limit, before);
+    }
+
+    /**
+     * Cache key of a segment page ({@code @Cacheable(key = "@workCacheUpdater.segmentPageKey(#limit, #before)")}).
+     */
+    public String segmentPageKey(int limit, String before) {
+        return pageKey(segmentPages, limit, before);
+    }
+
+    /* ------------------------- LISTENERS ------------------------- */
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSessionChanged(WorkSessionChangedEvent event) {
+        WorkSessionResponse before = event.before();
+        WorkSessionResponse after = event.after();
+
+        updateCurrent(sessions, before != null && before.endTime() == null, after, after != null && after.endTime() == null);
+        sessionPages.incrementAndGet();
+
+        if (event.type() == ChangeType.DELETED) {
+            segmentPages.incrementAndGet();
+            if (before.endTime() == null) segments.put(CURRENT_KEY, null);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSegmentChanged(WorkSegmentChangedEvent event) {
+        WorkSegmentResponse before = event.before();
+        WorkSegmentResponse after = event.after();
+
+        updateCurrent(segments, before != null && before.endTime() == null, after, after != null && after.endTime() == null);
+        segmentPages.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaxonomyChanged(TaxonomyChangedEvent event) {
+        if (event.type() != ChangeType.UPDATED) return;
+        segmentPages.incrementAndGet();
+        segments.clear();
+    }
+
+    /* ------------------------- HELPERS ------------------------- */
+
+    private static void updateCurrent(Cache cache, boolean wasRunning, Object after, boolean isRunning) {
+        if (isRunning) cache.put(CURRENT_KEY, after);
+        else if (wasRunning) cache.put(CURRENT_KEY, null); // cached as Optional.empty()
+    }
+
+    private static String pageKey(AtomicLong generation, int limit, String before) {
+        return PAGE_KEY_PREFIX + generation.get() + ":" + limit + ":" + (before == null ? "" : before);
+    }
+}
@@ -0,0 +1,153 @@
+package com.mrfop.worktime.service;
+
+import com.mrfop.worktime.model.entity.WorkDayRollupEntity;
+import com.mrfop.worktime.model.entity.WorkSegmentEntity;
+import com.mrfop.worktime.model.entity.WorkSessionEntity;
+import com.mrfop.worktime.model.projection.WorkDayRollupMismatch;
+import com.mrfop.worktime.model.projection.WorkDayRollupTotals;
+import com.mrfop.worktime.model.response.WorkDayRollupCheckResponse;
+import com.mrfop.worktime.model.response.WorkTotalsResponse;
+import com.mrfop.worktime.persistence.WorkDayRollupPersistence;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Maintains and reads the materialized {@code work_day_rollup} table.
+ *
+ * <h2>Maintenance</h2>
+ * <p>Write services take a {@link Contribution} snapshot of the affected row before and after the change and call
+ * {@link #apply(Contribution, Contribution)} inside their own transaction, so the rollup always commits or rolls back
+ * together with the source row. Open intervals contribute nothing; starting a session or segment therefore does not
+ * touch the rollup, stopping it adds the final duration.</p>
+ *
+ * <h2>Repair</h2>
+ * <p>{@link #check()} compares the rollup against a fresh aggregation of the source tables and {@link #rebuild()}
+ * recomputes it from scratch.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class WorkDayRollupService {
+
+    private final WorkDayRollupPersistence persistence;
+
+    /* ------------------------- READ ------------------------- */
+
+    /**
+     * Sums session and segment seconds over an inclusive UTC day range; {@code null} bounds are open.
+     * Only closed intervals are included.
+     */
+    @Transactional(readOnly = true)
+    public WorkTotalsResponse totals(LocalDate fromDay, LocalDate toDay) {
+        WorkDayRollupTotals sums = persistence.sumBetween(fromDay, toDay);
+
+        long sessionSeconds = sums.getSessionSeconds() == null ? 0 : sums.getSessionSeconds();
+        long segmentSeconds = sums.getSegmentSeconds() == null ? 0 : sums.getSegmentSeconds();
+
+        return new WorkTotalsResponse(
+                fromDay,
+                toDay,
+                sessionSeconds,
+                segmentSeconds,
+                Math.max(0, sessionSeconds - segmentSeconds)
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public WorkDayRollupCheckResponse check() {
+        List<WorkDayRollupCheckResponse.Mismatch> mismatches = persistence.findMismatches().stream()
+                .map(WorkDayRollupService::toMismatch)
+                .toList();
+
+        return new WorkDayRollupCheckResponse(mismatches.isEmpty(), mismatches);
+    }
+
+    /* ------------------------- MAINTENANCE ------------------------- */
+
+    /**
+     * Replaces the contribution {@code before} with {@code after}; either side may be {@code null}.
+     * Must run inside the transaction of the write it accounts for.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Contribution before, Contribution after) {
+        if (before != null && before.equals(after)) return;
+
+        if (before != null) {
+            persistence.addSeconds(before.dayUtc(), before.categoryId(), before.activityId(), -before.seconds());
+        }
+        if (after != null) {
+            persistence.addSeconds(after.dayUtc(), after.categoryId(), after.activityId(), after.seconds());
+        }
+    }
+
+    /**
+     * Removes the segments of a work session from the rollup before the session (and, by cascade, its segments)
+     * is deleted. The session total itself is removed via {@link #apply(Contribution, Contribution)}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeSegmentsOf(Long workSessionId) {
+        persistence.subtractSegmentsOfSession(workSessionId);
+    }
+
+    @Transactional
+    public WorkDayRollupCheckResponse rebuild() {
+        persistence.rebuild();
+        return check();
+    }
+
+    /* ------------------------- HELPERS ------------------------- */
+
+    private static WorkDayRollupCheckResponse.Mismatch toMismatch(WorkDayRollupMismatch row) {
+        return new WorkDayRollupCheckResponse.Mismatch(
+                row.getDayUtc(),
+                row.getCategoryId(),
+                row.getActivityId(),
+                row.getExpectedSeconds(),
+                row.getActualSeconds()
+        );
+    }
+
+    /**
+     * Seconds a single closed interval adds to one rollup key.
+     *
+     * <p>The day is the UTC date of the start time (same as the generated {@code start_date} columns) and seconds are
+     * truncated per interval exactly like {@code TIMESTAMPDIFF(SECOND, ...)} in the rebuild queries. Derived from the
+     * in-memory entity state, so snapshots taken before and after a patch are correct before any flush.</p>
+     */
+    public record Contribution(LocalDate dayUtc, long categoryId, long activityId, long seconds) {
+
+        /**
+         * @return the contribution of the segment, or {@code null} if it is still running
+         */
+        public static Contribution ofSegment(WorkSegmentEntity segment) {
+            if (segment.getStartTime() == null || segment.getEndTime() == null) return null;
+
+            return new Contribution(
+                    LocalDate.ofInstant(segment.getStartTime(), ZoneOffset.UTC),
+                    segment.getCategory().getId(),
+                    segment.getActivity().getId(),
+                    Duration.between(segment.getStartTime(), segment.getEndTime()).getSeconds()
+            );
+        }
+
+        /**
+         * @return the session total contribution, or {@code null} if the session is still running
+         */
+        public static Contribution ofSession(WorkSessionEntity session) {
+            if (session.getStartTime() == null || session.getEndTime() == null) return null;
+
+            return new Contribution(
+                    LocalDate.ofInstant(session.getStartTime(), ZoneOffset.UTC),
+                    WorkDayRollupEntity.SESSION_TOTAL_ID,
+                    WorkDayRollupEntity.SESSION_TOTAL_ID,
+                    Duration.between(session.getStartTime(), session.getEndTime()).getSeconds()
+            );
+        }
+    }
+}
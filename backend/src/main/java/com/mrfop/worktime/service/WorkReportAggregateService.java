@@ -0,0 +1,171 @@
+package com.mrfop.worktime.service;
+
+import com.mrfop.worktime.exception.InvalidParameterException;
+import com.mrfop.worktime.exception.base.LookupField;
+import com.mrfop.worktime.exception.base.Subject;
+import com.mrfop.worktime.model.enums.ReportBucket;
+import com.mrfop.worktime.model.enums.ReportDimension;
+import com.mrfop.worktime.model.projection.WorkAggregateRow;
+import com.mrfop.worktime.model.request.WorkReportAggregateRequest;
+import com.mrfop.worktime.model.response.WorkAggregateResponse;
+import com.mrfop.worktime.persistence.WorkAggregatePersistence;
+import com.mrfop.worktime.persistence.WorkAggregatePersistence.OffsetPeriod;
+import com.mrfop.worktime.util.ParsingUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.*;
+
+/**
+ * Ad-hoc aggregation of segment seconds by local time bucket and category / activity.
+ *
+ * <p>Summing happens in the database ({@code WorkSegmentRepository#aggregate}); this service only lays out the
+ * returned cells as a matrix with one column per bucket of the range, and resolves category/activity names.
+ * Segments are attributed to the bucket of their start time (like the daily rollup), running segments are measured
+ * until now. Local times use the zone rules of the JVM: the range is passed as periods of constant UTC offset, so any
+ * IANA zone works without the MariaDB time zone tables.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class WorkReportAggregateService {
+
+    // Upper bound of matrix columns (about 2.7 years of days)
+    private static final int MAX_BUCKETS = 1000;
+
+    private final WorkAggregatePersistence persistence;
+
+    @Transactional(readOnly = true)
+    public WorkAggregateResponse aggregate(WorkReportAggregateRequest req) {
+        ZoneId zone = ParsingUtil.parseZoneOptional(req.tz(), ZoneOffset.UTC, Subject.WORK_REPORT, LookupField.TZ);
+        ReportBucket bucket = req.bucketOrDefault();
+        boolean byCategory = req.groupsBy(ReportDimension.CATEGORY);
+        boolean byActivity = req.groupsBy(ReportDimension.ACTIVITY);
+
+        List<LocalDate> buckets = bucketsBetween(req.from(), req.to(), zone, bucket);
+        Map<LocalDate, Integer> columns = new HashMap<>();
+        for (int i = 0; i < buckets.size(); i++) columns.put(buckets.get(i), i);
+
+        List<WorkAggregateRow> cells = persistence.aggregate(
+                Instant.now(), req.from(), req.to(), offsetPeriods(req.from(), req.to(), zone), bucket,
+                byCategory, byActivity, req.categoryId(), req.activityId()
+        );
+
+        Map<GroupKey, long[]> rows = new LinkedHashMap<>();
+        long[] bucketTotals = new long[buckets.size()];
+        long total = 0;
+
+        for (WorkAggregateRow cell : cells) {
+            Integer col = columns.get(cell.getBucketStart());
+            if (col == null) continue;
+
+            GroupKey key = new GroupKey(idOrNull(cell.getCategoryId()), idOrNull(cell.getActivityId()));
+            long seconds = cell.getSeconds() == null ? 0 : cell.getSeconds();
+
+            rows.computeIfAbsent(key, k -> new long[buckets.size()])[col] += seconds;
+            bucketTotals[col] += seconds;
+            total += seconds;
+        }
+
+        return new WorkAggregateResponse(
+                zone.getId(),
+                bucket,
+                req.groupBy() == null ? List.of() : List.copyOf(req.groupBy()),
+                buckets,
+                toRows(rows),
+                bucketTotals,
+                total
+        );
+    }
+
+    /* ------------------------- HELPERS ------------------------- */
+
+    private List<WorkAggregateResponse.Row> toRows(Map<GroupKey, long[]> rows) {
+        Set<Long> categoryIds = new HashSet<>();
+        Set<Long> activityIds = new HashSet<>();
+        for (GroupKey key : rows.keySet()) {
+            if (key.categoryId() != null) categoryIds.add(key.categoryId());
+            if (key.activityId() != null) activityIds.add(key.activityId());
+        }
+
+        Map<Long, String> categoryNames = persistence.categoryNames(categoryIds);
+        Map<Long, String> activityNames = persistence.activityNames(activityIds);
+
+        List<WorkAggregateResponse.Row> result = new ArrayList<>(rows.size());
+        rows.forEach((key, seconds) -> result.add(new WorkAggregateResponse.Row(
+                key.categoryId(),
+                key.categoryId() == null ? null : categoryNames.get(key.categoryId()),
+                key.activityId(),
+                key.activityId() == null ? null : activityNames.get(key.activityId()),
+                seconds,
+                Arrays.stream(seconds).sum()
+        )));
+
+        result.sort(Comparator
+                .comparing(WorkAggregateResponse.Row::categoryName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(WorkAggregateResponse.Row::activityName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)));
+        return result;
+    }
+
+    // Local start dates of all buckets touched by [from, to)
+    private static List<LocalDate> bucketsBetween(Instant from, Instant to, ZoneId zone, ReportBucket bucket) {
+        LocalDate first = bucketStart(LocalDate.ofInstant(from, zone), bucket);
+        LocalDate last = bucketStart(LocalDate.ofInstant(to.minusMillis(1), zone), bucket);
+
+        List<LocalDate> result = new ArrayList<>();
+        for (LocalDate d = first; !d.isAfter(last); d = next(d, bucket)) {
+            if (result.size() == MAX_BUCKETS) {
+                throw new InvalidParameterException(Subject.WORK_REPORT, LookupField.TO, to);
+            }
+            result.add(d);
+        }
+        return result;
+    }
+
+    private static LocalDate bucketStart(LocalDate day, ReportBucket bucket) {
+        return switch (bucket) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate next(LocalDate bucketStart, ReportBucket bucket) {
+        return switch (bucket) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+
+    // [from, to) split at the offset transitions of the zone (DST: two per year), so the database needs no zone rules
+    private static List<OffsetPeriod> offsetPeriods(Instant from, Instant to, ZoneId zone) {
+        ZoneRules rules = zone.getRules();
+        List<OffsetPeriod> result = new ArrayList<>();
+
+        Instant start = from;
+        for (ZoneOffsetTransition t = rules.nextTransition(from);
+             t != null && t.getInstant().isBefore(to);
+             t = rules.nextTransition(t.getInstant())) {
+            result.add(new OffsetPeriod(start, t.getInstant(), rules.getOffset(start).getTotalSeconds()));
+            start = t.getInstant();
+        }
+        result.add(new OffsetPeriod(start, to, rules.getOffset(start).getTotalSeconds()));
+        return result;
+    }
+
+    // 0 marks an ungrouped dimension in the query result
+    private static Long idOrNull(Long id) {
+        return id == null || id == 0 ? null : id;
+    }
+
+    private record GroupKey(Long categoryId, Long activityId) {}
+}
@@ -0,0 +1,202 @@
+package com.mrfop.worktime.service;
+
+import com.mrfop.worktime.config.ExportBatchProperties;
+import com.mrfop.worktime.exception.InvalidParameterException;
+import com.mrfop.worktime.exception.base.LookupField;
+import com.mrfop.worktime.exception.base.Subject;
+import com.mrfop.worktime.model.enums.ReportBucket;
+import com.mrfop.worktime.model.enums.ReportFormat;
+import com.mrfop.worktime.model.request.WorkReportBatchExportRequest;
+import com.mrfop.worktime.model.request.WorkReportDaysRequest;
+import com.mrfop.worktime.model.response.WorkDayResponse;
+import com.mrfop.worktime.service.jasper.FilledReport;
+import com.mrfop.worktime.service.jasper.JasperRenderer;
+import com.mrfop.worktime.service.jasper.model.mapper.WorkReportPdfMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Multi-period PDF exports delivered as one ZIP archive.
+ *
+ * <p>The range is partitioned into local months or ISO weeks. Each period reads its own days
+ * ({@link WorkReportService#days}) and is filled and exported on a pool shared by all batches
+ * ({@code worktime.export.batch.workers}) with the shared compiled templates, then written to the archive as soon as
+ * it is finished, so the entries are in completion order.</p>
+ *
+ * <p>A batch has at most {@code workers} periods in flight (queued, rendering or finished but not yet written): the
+ * next period is submitted only after a finished one was written. Memory per batch is therefore bounded by
+ * {@code workers} periods of days and PDFs regardless of the range, and a slow client stalls its own batch instead of
+ * piling up rendered PDFs; the pool queue holds at most {@code workers} periods per running batch.</p>
+ */
+@Service
+public class WorkReportBatchExportService {
+
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final WorkReportExportService exportService;
+    private final WorkReportService reportService;
+    private final WorkReportPdfMapper mapper;
+    private final JasperRenderer renderer;
+    private final ExportBatchProperties properties;
+    private final ThreadPoolExecutor workers;
+
+    public WorkReportBatchExportService(
+            WorkReportExportService exportService,
+            WorkReportService reportService,
+            WorkReportPdfMapper mapper,
+            JasperRenderer renderer,
+            ExportBatchProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.exportService = exportService;
+        this.reportService = reportService;
+        this.mapper = mapper;
+        this.renderer = renderer;
+        this.properties = properties;
+
+        AtomicInteger threadIds = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+                properties.workers(), properties.workers(),
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                task -> {
+                    Thread t = new Thread(task, "export-batch-" + threadIds.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }
+        );
+
+        Gauge.builder("worktime.export.batch.queued", workers, w -> w.getQueue().size())
+                .description("Batch export periods waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("worktime.export.batch.running", workers, ThreadPoolExecutor::getActiveCount)
+                .description("Batch export periods being rendered")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Validates the request (same checks and running guard as a single export, plus {@code max-periods}) and prepares
+     * the ZIP export.
+     */
+    public WorkReportExportService.ExportStream streamZip(WorkReportBatchExportRequest req) {
+        WorkReportExportService.ExportParams p = exportService.prepare(req.toExportRequest());
+        List<Period> periods = periods(p.from(), p.to(), p.zone(), req.split());
+
+        return out -> {
+            CompletionService<Entry> completed = new ExecutorCompletionService<>(workers);
+            List<Future<Entry>> pending = new ArrayList<>(periods.size());
+            Semaphore inFlight = new Semaphore(properties.workers());
+            int submitted = 0;
+
+            try {
+                ZipOutputStream zip = new ZipOutputStream(out);
+                for (int written = 0; written < periods.size(); written++) {
+                    // 1) Top up to `workers` periods in flight (each reads and renders its own days)
+                    while (submitted < periods.size() && inFlight.tryAcquire()) {
+                        Period period = periods.get(submitted++);
+                        pending.add(completed.submit(() -> render(period, p)));
+                    }
+
+                    // 2) Write the next finished PDF, 3) free its slot only once it is in the archive
+                    Entry entry = completed.take().get();
+                    zip.putNextEntry(new ZipEntry(entry.filename()));
+                    zip.write(entry.pdf());
+                    zip.closeEntry();
+                    zip.flush();
+                    inFlight.release();
+                }
+                zip.finish(); // the response stream is closed by the caller
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to render batch export period", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Batch export interrupted", e);
+            } finally {
+                // Client gone or a period failed: drop the periods not started yet
+                pending.forEach(f -> f.cancel(true));
+            }
+        };
+    }
+
+    public String buildFilename(WorkReportBatchExportRequest req) {
+        return exportService.buildFilename(req.toExportRequest(), "zip");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /* ------------------------- HELPERS ------------------------- */
+
+    private Entry render(Period period, WorkReportExportService.ExportParams p) {
+        List<WorkDayResponse> days = reportService.days(
+                new WorkReportDaysRequest(period.from(), period.to(), p.zone().getId(), p.includeSegments()));
+
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        try (FilledReport report = renderer.fill(
+                mapper.toPdfHeader(period.from(), period.to(), p.zone(), p.locale()),
+                new JRBeanCollectionDataSource(mapper.toDayPdfs(days, p.zone(), p.locale(), p.includeSegments()))
+        )) {
+            renderer.export(report, ReportFormat.PDF, pdf);
+        }
+
+        String filename = "work-report_" + FILE_DATE.format(LocalDate.ofInstant(period.from(), p.zone()))
+                + "_" + FILE_DATE.format(LocalDate.ofInstant(period.to(), p.zone())) + ".pdf";
+        return new Entry(filename, pdf.toByteArray());
+    }
+
+    // Local periods covering [from, to), the first and last clipped to the range
+    private List<Period> periods(Instant from, Instant to, ZoneId zone, ReportBucket split) {
+        List<Period> result = new ArrayList<>();
+        LocalDate start = periodStart(LocalDate.ofInstant(from, zone), split);
+
+        while (true) {
+            Instant periodFrom = start.atStartOfDay(zone).toInstant();
+            if (!periodFrom.isBefore(to)) break;
+            if (result.size() == properties.maxPeriods()) {
+                throw new InvalidParameterException(Subject.WORK_REPORT, LookupField.TO, to);
+            }
+
+            LocalDate next = split == ReportBucket.WEEK ? start.plusWeeks(1) : start.plusMonths(1);
+            Instant periodTo = next.atStartOfDay(zone).toInstant();
+            result.add(new Period(
+                    periodFrom.isBefore(from) ? from : periodFrom,
+                    periodTo.isAfter(to) ? to : periodTo
+            ));
+            start = next;
+        }
+        return result;
+    }
+
+    private static LocalDate periodStart(LocalDate day, ReportBucket split) {
+        return split == ReportBucket.WEEK
+                ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                : day.withDayOfMonth(1);
+    }
+
+    private record Period(Instant from, Instant to) {}
+
+    private record Entry(String filename, byte[] pdf) {}
+}
@@ -0,0 +1,137 @@
+package com.mrfop.worktime.service;
+
+import com.mrfop.worktime.model.response.WorkSegmentResponse;
+import com.mrfop.worktime.model.response.WorkSessionResponse;
+import com.mrfop.worktime.model.response.WorkSessionWithSegmentsResponse;
+import com.mrfop.worktime.service.event.ChangeType;
+import com.mrfop.worktime.service.event.TaxonomyChangedEvent;
+import com.mrfop.worktime.service.event.WorkSegmentChangedEvent;
+import com.mrfop.worktime.service.event.WorkSessionChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Report cache keyed by UTC day ({@code start_date} of the work session).
+ *
+ * <h2>Contents</h2>
+ * <p>Each entry holds <b>all</b> work sessions starting on that day with their segments, newest first, exactly as
+ * assembled by {@link WorkReportService}. Range filtering happens after the lookup, so one entry serves every request
+ * that touches the day.</p>
+ *
+ * <h2>Invalidation</h2>
+ * <ul>
+ *   <li>After commit of a session/segment write, only the UTC days spanned by the old and new intervals are evicted
+ *       (running intervals are treated as ending now).</li>
+ *   <li>After commit of a category/activity change the whole cache is cleared, because names are embedded in every
+ *       segment.</li>
+ * </ul>
+ *
+ * <p>Entries do not expire: a past day only changes through a write, which evicts it. The size is bounded by
+ * {@code worktime.report.day-cache-size} (see {@code ReportDayCacheConfig}).</p>
+ *
+ * <h2>Stale puts</h2>
+ * <p>A reader can load a day before a write commits and store it after the eviction. Every invalidation therefore
+ * advances a generation; callers capture {@link #generation()} before their first query and pass it to
+ * {@link #put}, which drops the value if an invalidation happened in between. Check and put are atomic with respect
+ * to invalidation.</p>
+ *
+ * <p>Callers must not store days that can still change without a write event: the current UTC day and any day with a
+ * running session are always loaded from the database.</p>
+ */
+@Component
+public class WorkReportDayCache {
+
+    public static final String CACHE_NAME = "reportDays";
+
+    private final Cache cache;
+
+    // Guarded by itself: invalidations and puts are serialized, so a put never lands after a newer eviction
+    private final Object lock = new Object();
+    private long generation;
+
+    public WorkReportDayCache(CacheManager cacheManager) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME), CACHE_NAME);
+    }
+
+    /* ------------------------- READ / WRITE ------------------------- */
+
+    @SuppressWarnings("unchecked")
+    public List<WorkSessionWithSegmentsResponse> get(LocalDate dayUtc) {
+        Cache.ValueWrapper hit = cache.get(dayUtc);
+        return hit == null ? null : (List<WorkSessionWithSegmentsResponse>) hit.get();
+    }
+
+    /**
+     * Current invalidation generation; capture it before loading the values passed to {@link #put}.
+     */
+    public long generation() {
+        synchronized (lock) {
+            return generation;
+        }
+    }
+
+    /**
+     * Stores the day unless the cache was invalidated since {@code loadedAt} (a {@link #generation()} value).
+     */
+    public void put(LocalDate dayUtc, List<WorkSessionWithSegmentsResponse> sessions, long loadedAt) {
+        List<WorkSessionWithSegmentsResponse> value = List.copyOf(sessions);
+        synchronized (lock) {
+            if (generation == loadedAt) cache.put(dayUtc, value);
+        }
+    }
+
+    /* ------------------------- INVALIDATION ------------------------- */
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSessionChanged(WorkSessionChangedEvent event) {
+        WorkSessionResponse before = event.before();
+        WorkSessionResponse after = event.after();
+
+        if (before != null) evictDays(before.startTime(), before.endTime());
+        if (after != null) evictDays(after.startTime(), after.endTime());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSegmentChanged(WorkSegmentChangedEvent event) {
+        WorkSegmentResponse before = event.before();
+        WorkSegmentResponse after = event.after();
+
+        evictDays(event.sessionStartTime(), event.sessionEndTime());
+        if (before != null) evictDays(before.startTime(), before.endTime());
+        if (after != null) evictDays(after.startTime(), after.endTime());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaxonomyChanged(TaxonomyChangedEvent event) {
+        if (event.type() == ChangeType.CREATED) return; // a new category/activity is not embedded anywhere yet
+
+        synchronized (lock) {
+            generation++;
+            cache.clear();
+        }
+    }
+
+    private void evictDays(Instant start, Instant end) {
+        if (start == null) return;
+
+        LocalDate day = LocalDate.ofInstant(start, ZoneOffset.UTC);
+        LocalDate last = LocalDate.ofInstant(end != null ? end : Instant.now(), ZoneOffset.UTC);
+
+        synchronized (lock) {
+            generation++;
+            do {
+                cache.evict(day);
+                day = day.plusDays(1);
+            } while (!day.isAfter(last));
+        }
+    }
+}
@@ -1,23 +1,31 @@
 package com.mrfop.worktime.service;
 
+import com.mrfop.worktime.config.ReportProperties;
 import com.mrfop.worktime.exception.OperationBlockedByRunningException;
 import com.mrfop.worktime.exception.base.LookupField;
 import com.mrfop.worktime.exception.base.Subject;
+import com.mrfop.worktime.model.enums.ReportFormat;
 import com.mrfop.worktime.model.request.WorkReportDaysRequest;
 import com.mrfop.worktime.model.request.WorkReportExportRequest;
 import com.mrfop.worktime.model.response.WorkDayResponse;
+import com.mrfop.worktime.service.jasper.FilledReportCache;
 import com.mrfop.worktime.service.jasper.JasperRenderer;
-import com.mrfop.worktime.service.jasper.model.WorkReportPdf;
+import com.mrfop.worktime.service.jasper.PagedBeanDataSource;
+import com.mrfop.worktime.service.jasper.model.DayPdf;
 import com.mrfop.worktime.service.jasper.model.mapper.WorkReportPdfMapper;
+import com.mrfop.worktime.service.report.WorkReportRowWriter;
 import com.mrfop.worktime.util.ParsingUtil;
 import com.mrfop.worktime.util.TimeRangeUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.DoubleConsumer;
 
 @Service
 @RequiredArgsConstructor
@@ -30,8 +38,108 @@ public class WorkReportExportService {
 
     private final WorkReportPdfMapper mapper;
     private final JasperRenderer renderer;
+    private final FilledReportCache filledReports;
+    private final DataVersionService dataVersion;
+    private final WorkReportRowWriter rowWriter;
+    private final ReportProperties properties;
+
+    // Rows are small; flushing in 64K chunks keeps the socket busy without holding the export
+    private static final int ROW_BUFFER_CHARS = 64 * 1024;
+
+    /**
+     * Validates the request and prepares a streaming PDF export.
+     *
+     * <p>Parameter errors and the running-session guard are raised here, before any response byte is written.
+     * The returned stream loads the days in pages of {@code worktime.report.jasper.page-days} local days (newest
+     * first) while Jasper fills, so neither the report data nor the filled pages of a multi-year range are held
+     * in memory at once.</p>
+     */
+    public ExportStream streamPdf(WorkReportExportRequest req) {
+        return streamPdf(req, progress -> {});
+    }
+
+    /**
+     * Variant of {@link #streamPdf(WorkReportExportRequest)} reporting progress while rendering.
+     *
+     * @param progress receives the share of the range read so far ({@code 0..1}) after every data page
+     */
+    public ExportStream streamPdf(WorkReportExportRequest req, DoubleConsumer progress) {
+        return streamReport(req, ReportFormat.PDF, progress);
+    }
+
+    /**
+     * Validates the request and prepares a streaming export of the filled report in {@code format}.
+     *
+     * <p>The report is filled once per request and data version: a filled report is kept briefly
+     * ({@link FilledReportCache}), so exporting the same request in another format skips the query and the fill.</p>
+     */
+    public ExportStream streamReport(WorkReportExportRequest req, ReportFormat format) {
+        return streamReport(req, format, progress -> {});
+    }
+
+    /**
+     * Variant of {@link #streamReport(WorkReportExportRequest, ReportFormat)} reporting fill progress
+     * (nothing is reported when the filled report is reused).
+     */
+    public ExportStream streamReport(WorkReportExportRequest req, ReportFormat format, DoubleConsumer progress) {
+        ExportParams p = prepare(req);
+        FilledReportCache.Key key = new FilledReportCache.Key(
+                p.from(), p.to(), p.zone().getId(), p.locale().toLanguageTag(), p.includeSegments(),
+                dataVersion.workEtag()
+        );
+
+        return out -> filledReports.use(
+                key,
+                // Header (already formatted for tz/locale); days are read page by page during the fill
+                () -> renderer.fill(
+                        mapper.toPdfHeader(p.from(), p.to(), p.zone(), p.locale()),
+                        dayPages(p.from(), p.to(), p.zone(), p.locale(), p.includeSegments(), progress)
+                ),
+                report -> renderer.export(report, format, out)
+        );
+    }
+
+    /**
+     * Validates the request and prepares a streaming CSV export (RFC 4180, UTF-8, header line first).
+     *
+     * <p>Bypasses Jasper and the day model: sessions overlapping the range are read in keyset chunks
+     * ({@link WorkReportService#streamSessions}) and written as they arrive, one row per segment
+     * ({@code showSegments}) or per session. Times are formatted for tz/locale and additionally as ISO-8601.</p>
+     */
+    public ExportStream streamCsv(WorkReportExportRequest req) {
+        return streamRows(req, WorkReportRowWriter.Format.CSV);
+    }
+
+    /**
+     * Variant of {@link #streamCsv} writing one JSON object per line ({@code application/x-ndjson}).
+     */
+    public ExportStream streamNdjson(WorkReportExportRequest req) {
+        return streamRows(req, WorkReportRowWriter.Format.NDJSON);
+    }
+
+    private ExportStream streamRows(WorkReportExportRequest req, WorkReportRowWriter.Format format) {
+        ExportParams p = prepare(req);
+        WorkReportService.SessionStream sessions = reportService.streamSessions(p.from(), p.to());
+
+        return out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), ROW_BUFFER_CHARS);
+            WorkReportRowWriter.Rows rows = rowWriter.open(
+                    writer, format, p.includeSegments(), p.zone(), p.locale(), Instant.now());
+
+            rows.header();
+            sessions.forEach(rows::write);
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
 
-    public byte[] exportPdf(WorkReportExportRequest req) {
+    /**
+     * Parses and validates the export parameters and applies the running-session guard.
+     */
+    ExportParams prepare(WorkReportExportRequest req) {
         Instant from = ParsingUtil.parseInstantIsoRequired(req.from(), Subject.WORK_REPORT, LookupField.FROM);
         Instant to   = ParsingUtil.parseInstantIsoRequired(req.to(),   Subject.WORK_REPORT, LookupField.TO);
 
@@ -40,10 +148,7 @@ public class WorkReportExportService {
         ZoneId zone  = ParsingUtil.parseZoneRequired(req.tz(), Subject.WORK_REPORT, LookupField.TZ);
         Locale locale = ParsingUtil.parseLocaleRequired(req.locale(), Subject.WORK_REPORT, LookupField.LOCALE);
 
-        // Store in a local variable for clarity
-        boolean includeSegments = req.showSegments();
-
-        // 1) Guard: running?
+        // Guard: running?
         if (segmentService.isRunning()) {
             throw new OperationBlockedByRunningException(Subject.WORK_REPORT, Subject.WORK_SEGMENT);
         }
@@ -51,22 +156,62 @@ public class WorkReportExportService {
             throw new OperationBlockedByRunningException(Subject.WORK_REPORT, Subject.WORK_SESSION);
         }
 
-        // 2) Data (UTC only)
-        List<WorkDayResponse> days = reportService.daysWithSegments(new WorkReportDaysRequest(from, to));
-
-        // 3) Map to PDF ViewModel (already formatted for tz/locale)
-        WorkReportPdf model = mapper.toPdfModel(days, from, to, zone, locale, includeSegments);
+        return new ExportParams(from, to, zone, locale, req.showSegments());
+    }
 
-        // 4) Render Jasper PDF
-        return renderer.renderPdf(model);
+    record ExportParams(Instant from, Instant to, ZoneId zone, Locale locale, boolean includeSegments) {}
+
+    /**
+     * Day data source walking {@code [from, to)} backwards in windows of {@code pageDays} local days.
+     *
+     * <p>Inner window bounds are local midnights, and the day report splits sessions at local midnight anyway, so the
+     * pages are exactly the days of one report over the whole range. Each page is a separate read
+     * (bucketed and totalled server-side, see {@link WorkReportService#days}); without segments only per-session sums
+     * are read.</p>
+     */
+    private PagedBeanDataSource<DayPdf> dayPages(
+            Instant from, Instant to, ZoneId zone, Locale locale, boolean includeSegments, DoubleConsumer progress
+    ) {
+        int pageDays = properties.jasper().pageDays();
+        double rangeMillis = Duration.between(from, to).toMillis();
+        Instant[] windowEnd = { to };
+
+        return new PagedBeanDataSource<>(() -> {
+            while (windowEnd[0].isAfter(from)) {
+                LocalDate lastDay = LocalDate.ofInstant(windowEnd[0].minusNanos(1), zone);
+                Instant windowStart = lastDay.minusDays(pageDays - 1L).atStartOfDay(zone).toInstant();
+                if (windowStart.isBefore(from)) windowStart = from;
+
+                List<WorkDayResponse> days = reportService.days(
+                        new WorkReportDaysRequest(windowStart, windowEnd[0], zone.getId(), includeSegments));
+                windowEnd[0] = windowStart;
+                progress.accept(Duration.between(windowStart, to).toMillis() / rangeMillis);
+
+                if (!days.isEmpty()) return mapper.toDayPdfs(days, zone, locale, includeSegments);
+            }
+            return List.of();
+        });
     }
 
     public String buildFilename(WorkReportExportRequest req) {
+        return buildFilename(req, ReportFormat.PDF.extension());
+    }
+
+    public String buildFilename(WorkReportExportRequest req, String extension) {
         Instant from = ParsingUtil.parseInstantIsoRequired(req.from(), Subject.WORK_REPORT, LookupField.FROM);
         Instant to   = ParsingUtil.parseInstantIsoRequired(req.to(),   Subject.WORK_REPORT, LookupField.TO);
         ZoneId zone  = ParsingUtil.parseZoneRequired(req.tz(), Subject.WORK_REPORT, LookupField.TZ);
 
         DateTimeFormatter df = DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(zone);
-        return "work-report_" + df.format(from) + "_" + df.format(to) + ".pdf";
+        return "work-report_" + df.format(from) + "_" + df.format(to) + "." + extension;
+    }
+
+    /**
+     * Deferred export returned by {@link #streamReport(WorkReportExportRequest, ReportFormat)}, {@link #streamCsv} and
+     * {@link #streamNdjson}; writes the whole document when called.
+     */
+    @FunctionalInterface
+    public interface ExportStream {
+        void writeTo(OutputStream out);
     }
-}
\ No newline at end of file
+}
@@ -1,57 +1,326 @@
 package com.mrfop.worktime.service;
 
-import com.mrfop.worktime.model.entity.WorkSessionEntity;
-import com.mrfop.worktime.model.mapper.WorkSegmentMapper;
+import com.mrfop.worktime.exception.InvalidParameterException;
+import com.mrfop.worktime.exception.base.LookupField;
+import com.mrfop.worktime.exception.base.Subject;
 import com.mrfop.worktime.model.request.WorkReportDaysRequest;
+import com.mrfop.worktime.model.projection.WorkSessionTotals;
 import com.mrfop.worktime.model.response.WorkDayResponse;
-import com.mrfop.worktime.model.response.WorkSegmentResponse;
+import com.mrfop.worktime.model.response.WorkDaySessionResponse;
+import com.mrfop.worktime.model.response.WorkDayStreamResponse;
+import com.mrfop.worktime.model.response.WorkSessionSummaryResponse;
 import com.mrfop.worktime.model.response.WorkSessionWithSegmentsResponse;
+import com.mrfop.worktime.persistence.WorkReportPersistence;
 import com.mrfop.worktime.repository.WorkSessionRepository;
+import com.mrfop.worktime.service.report.WorkReportEngine;
+import com.mrfop.worktime.util.KeysetCursor;
+import com.mrfop.worktime.util.ParsingUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class WorkReportService {
 
+    // Sessions per keyset chunk; bounds heap use of the streaming report independently of the range
+    private static final int STREAM_CHUNK_SIZE = 200;
+
     private final WorkSessionRepository sessionRepo;
-    private final WorkSegmentMapper segmentMapper;
+    private final WorkReportPersistence reportPersistence;
+    private final WorkReportDayCache dayCache;
+    private final WorkReportEngine reportEngine;
+
+    /**
+     * Day report entry point: {@link #daysWithSegments} or, if segment details are not requested, the session-only
+     * fast path {@link #daysWithoutSegments} (same days and totals, empty {@code items}).
+     */
+    @Transactional(readOnly = true)
+    public List<WorkDayResponse> days(WorkReportDaysRequest req) {
+        return req.includeSegments() ? daysWithSegments(req) : daysWithoutSegments(req);
+    }
 
+    /**
+     * Returns the sessions overlapping the requested range grouped by local day in the requested zone, newest first.
+     *
+     * <p>Sessions are bucketed and split at local midnight by {@link WorkReportEngine}: a session crossing midnight
+     * appears on every day it touches, and all second counts (session, segment, unallocated and the day totals) are
+     * clipped to that day. Running intervals are measured until now. Days outside the requested range are omitted.</p>
+     */
     @Transactional(readOnly = true)
     public List<WorkDayResponse> daysWithSegments(WorkReportDaysRequest req) {
         Instant nowUtc = Instant.now();
+        ZoneId zone = ParsingUtil.parseZoneOptional(req.tz(), ZoneOffset.UTC, Subject.WORK_REPORT, LookupField.TZ);
 
-        List<WorkSessionEntity> sessions =
-                sessionRepo.findOverlappingWithSegments(nowUtc, req.from(), req.to());
-
+        List<WorkSessionWithSegmentsResponse> sessions = findOverlapping(req.from(), req.to(), nowUtc);
         if (sessions.isEmpty()) return List.of();
 
-        Map<LocalDate, List<WorkSessionWithSegmentsResponse>> byDay = new LinkedHashMap<>();
-        
-        for (WorkSessionEntity ws : sessions) {
-            List<WorkSegmentResponse> items = ws.getSegments().stream()
-                    .map(segmentMapper::toResponse)
-                    .toList();
-
-            WorkSessionWithSegmentsResponse s = new WorkSessionWithSegmentsResponse(
-                    ws.getId(),
-                    ws.getStartTime(),
-                    ws.getEndTime(),
-                    items
+        return reportEngine.days(sessions, zone, req.from(), req.to(), nowUtc);
+    }
+
+    /**
+     * Session-only variant of {@link #daysWithSegments}.
+     *
+     * <p>Sessions are read with their segment totals summed in the database (one row per session). A session that
+     * lies within one local day together with all its segments needs no clipping and is used as is; only sessions
+     * crossing local midnight are loaded with segments and clipped by {@link WorkReportEngine}.</p>
+     */
+    private List<WorkDayResponse> daysWithoutSegments(WorkReportDaysRequest req) {
+        Instant nowUtc = Instant.now();
+        ZoneId zone = ParsingUtil.parseZoneOptional(req.tz(), ZoneOffset.UTC, Subject.WORK_REPORT, LookupField.TZ);
+
+        List<WorkSessionTotals> totals = reportPersistence.findOverlappingTotals(nowUtc, req.from(), req.to());
+        if (totals.isEmpty()) return List.of();
+
+        Map<LocalDate, List<WorkDaySessionResponse>> byDay = new HashMap<>();
+        List<Long> crossing = new ArrayList<>();
+
+        for (WorkSessionTotals t : totals) {
+            LocalDate day = LocalDate.ofInstant(t.startTime(), zone);
+            Instant dayStart = day.atStartOfDay(zone).toInstant();
+            Instant dayEnd = day.plusDays(1).atStartOfDay(zone).toInstant();
+            Instant end = t.endTime() != null ? t.endTime() : nowUtc;
+
+            boolean withinDay = !end.isAfter(dayEnd)
+                    && (t.firstSegmentStart() == null
+                        || (!t.firstSegmentStart().isBefore(dayStart) && !t.lastSegmentEnd().isAfter(dayEnd)));
+            if (!withinDay) {
+                crossing.add(t.id());
+                continue;
+            }
+
+            // Same flooring as the engine: whole seconds per interval
+            long sessionSecs = Math.max(0, Duration.between(t.startTime(), end).getSeconds());
+            byDay.computeIfAbsent(day, k -> new ArrayList<>()).add(new WorkDaySessionResponse(
+                    t.id(), t.startTime(), t.endTime(),
+                    sessionSecs, t.segmentSeconds(), Math.max(0, sessionSecs - t.segmentSeconds()),
+                    List.of()
+            ));
+        }
+
+        if (!crossing.isEmpty()) {
+            // findByIds is oldest first, the engine expects newest first
+            List<WorkSessionWithSegmentsResponse> full = new ArrayList<>(reportPersistence.findByIds(crossing));
+            Collections.reverse(full);
+
+            for (WorkDayResponse d : reportEngine.days(full, zone, req.from(), req.to(), nowUtc)) {
+                List<WorkDaySessionResponse> sessions = byDay.computeIfAbsent(d.day(), k -> new ArrayList<>());
+                for (WorkDaySessionResponse s : d.sessions()) {
+                    sessions.add(new WorkDaySessionResponse(
+                            s.id(), s.startTime(), s.endTime(),
+                            s.durationSeconds(), s.segmentSeconds(), s.unallocatedSeconds(),
+                            List.of()
+                    ));
+                }
+            }
+        }
+
+        String zoneId = zone.getId();
+        Comparator<WorkDaySessionResponse> newestFirst = Comparator
+                .comparing(WorkDaySessionResponse::startTime)
+                .thenComparing(WorkDaySessionResponse::id)
+                .reversed();
+
+        List<WorkDayResponse> result = new ArrayList<>(byDay.size());
+        byDay.entrySet().stream()
+                .sorted(Map.Entry.<LocalDate, List<WorkDaySessionResponse>>comparingByKey().reversed())
+                .forEach(e -> {
+                    List<WorkDaySessionResponse> sessions = e.getValue();
+                    sessions.sort(newestFirst);
+
+                    long sessionSecs = 0;
+                    long segmentSecs = 0;
+                    for (WorkDaySessionResponse s : sessions) {
+                        sessionSecs += s.durationSeconds();
+                        segmentSecs += s.segmentSeconds();
+                    }
+
+                    result.add(new WorkDayResponse(
+                            e.getKey(), zoneId,
+                            sessionSecs, segmentSecs, Math.max(0, sessionSecs - segmentSecs),
+                            List.copyOf(sessions)
+                    ));
+                });
+        return result;
+    }
+
+    /**
+     * Returns the latest {@code limit} sessions newest first with session, segment and unallocated seconds.
+     * Dashboard view: a bounded index scan instead of a day report over a fixed window.
+     */
+    @Transactional(readOnly = true)
+    public List<WorkSessionSummaryResponse> recentSessions(int limit) {
+        return reportPersistence.findRecentSummaries(limit, Instant.now());
+    }
+
+    /**
+     * Returns all sessions overlapping the range, newest first.
+     *
+     * <p>Complete UTC start days are served from {@link WorkReportDayCache}; only cache misses, the current UTC day and
+     * days with a running session are loaded from the database (in one query). The range filter is applied afterwards,
+     * so a cached day is valid for any range that touches it.</p>
+     */
+    private List<WorkSessionWithSegmentsResponse> findOverlapping(Instant from, Instant to, Instant nowUtc) {
+        // Before the first query (the read snapshot): a write committed after this point rejects our puts
+        long cacheGeneration = dayCache.generation();
+
+        List<LocalDate> days = sessionRepo.findOverlappingStartDates(nowUtc, from, to);
+        if (days.isEmpty()) return List.of();
+
+        Map<LocalDate, List<WorkSessionWithSegmentsResponse>> byDay = new HashMap<>();
+        List<LocalDate> misses = new ArrayList<>();
+
+        for (LocalDate day : days) {
+            List<WorkSessionWithSegmentsResponse> cached = dayCache.get(day);
+            if (cached != null) byDay.put(day, cached);
+            else misses.add(day);
+        }
+
+        if (!misses.isEmpty()) {
+            Map<LocalDate, List<WorkSessionWithSegmentsResponse>> loaded = new HashMap<>();
+
+            for (WorkSessionWithSegmentsResponse s : reportPersistence.findByStartDays(misses)) {
+                loaded.computeIfAbsent(dayUtcOf(s), k -> new ArrayList<>()).add(s);
+            }
+
+            LocalDate todayUtc = LocalDate.ofInstant(nowUtc, ZoneOffset.UTC);
+            loaded.forEach((day, sessions) -> {
+                if (isCacheable(day, sessions, todayUtc)) dayCache.put(day, sessions, cacheGeneration);
+            });
+            byDay.putAll(loaded);
+        }
+
+        List<WorkSessionWithSegmentsResponse> result = new ArrayList<>();
+        for (LocalDate day : days) {
+            for (WorkSessionWithSegmentsResponse s : byDay.getOrDefault(day, List.of())) {
+                if (overlaps(s, from, to, nowUtc)) result.add(s);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Prepares a streaming day report grouped by UTC start day (unsplit sessions, no totals).
+     *
+     * <p>Days are emitted oldest first. Sessions are read in keyset chunks ordered by {@code (start_time, id)},
+     * each chunk in its own short read-only transaction, and a day is handed to the sink as soon as the first
+     * session of the next day is seen. Only one chunk and one day are held in memory at any time.</p>
+     *
+     * <p>The cursor and {@code tz} are validated eagerly so a malformed value fails before any output is written.
+     * Every emitted day carries the cursor of its last session; passing it back resumes after that day.</p>
+     *
+     * <p>Only UTC days are supported: splitting sessions at local midnight would repeat a session on the following
+     * day, which a cursor past that session cannot resume. Any other {@code tz} is rejected instead of ignored; local
+     * days come from {@link #days}.</p>
+     */
+    public DayStream streamDays(WorkReportDaysRequest req, String cursor) {
+        KeysetCursor after = KeysetCursor.parseOptional(cursor, Subject.WORK_REPORT);
+        ZoneId zone = ParsingUtil.parseZoneOptional(req.tz(), ZoneOffset.UTC, Subject.WORK_REPORT, LookupField.TZ);
+        if (!zone.normalized().equals(ZoneOffset.UTC)) {
+            throw new InvalidParameterException(Subject.WORK_REPORT, LookupField.TZ, req.tz());
+        }
+        Instant nowUtc = Instant.now();
+
+        return sink -> {
+            LocalDate[] currentDay = { null };
+            KeysetCursor[] position = { after };
+            List<WorkSessionWithSegmentsResponse> currentSessions = new ArrayList<>();
+
+            forEachOverlapping(req.from(), req.to(), after, nowUtc, s -> {
+                LocalDate dayUtc = dayUtcOf(s);
+
+                if (currentDay[0] != null && !currentDay[0].equals(dayUtc)) {
+                    sink.accept(new WorkDayStreamResponse(currentDay[0], List.copyOf(currentSessions), position[0].encode()));
+                    currentSessions.clear();
+                }
+
+                currentDay[0] = dayUtc;
+                currentSessions.add(s);
+                position[0] = new KeysetCursor(s.startTime(), s.id());
+            });
+
+            if (currentDay[0] != null) {
+                sink.accept(new WorkDayStreamResponse(currentDay[0], List.copyOf(currentSessions), position[0].encode()));
+            }
+        };
+    }
+
+    /**
+     * Prepares a stream of all sessions (with segments) overlapping {@code [from, to)}, oldest first, unsplit.
+     * Same keyset chunking as {@link #streamDays}: one chunk of sessions in memory at a time, for row exports.
+     */
+    public SessionStream streamSessions(Instant from, Instant to) {
+        Instant nowUtc = Instant.now();
+        return sink -> forEachOverlapping(from, to, null, nowUtc, sink);
+    }
+
+    // Walks the overlapping sessions in keyset chunks of (start_time, id), each chunk in its own short read
+    private void forEachOverlapping(
+            Instant from, Instant to, KeysetCursor after, Instant nowUtc,
+            Consumer<WorkSessionWithSegmentsResponse> sink
+    ) {
+        KeysetCursor position = after;
+
+        while (true) {
+            List<Long> ids = sessionRepo.findOverlappingIdsAfter(
+                    nowUtc,
+                    from,
+                    to,
+                    position == null ? null : position.startTime(),
+                    position == null ? null : position.id(),
+                    Limit.of(STREAM_CHUNK_SIZE)
             );
+            if (ids.isEmpty()) break;
 
-            LocalDate dayUtc = ws.getStartDate();
+            for (WorkSessionWithSegmentsResponse s : reportPersistence.findByIds(ids)) {
+                sink.accept(s);
+                position = new KeysetCursor(s.startTime(), s.id());
+            }
 
-            byDay.computeIfAbsent(dayUtc, k -> new ArrayList<>()).add(s);
+            if (ids.size() < STREAM_CHUNK_SIZE) break;
         }
+    }
+
+    // Days that can still change without a write event (running sessions, today) are never cached
+    private static boolean isCacheable(LocalDate day, List<WorkSessionWithSegmentsResponse> sessions, LocalDate todayUtc) {
+        if (!day.isBefore(todayUtc)) return false;
+        return sessions.stream().allMatch(s -> s.endTime() != null);
+    }
+
+    // Same predicate as the overlap filter in WorkSessionRepository
+    private static boolean overlaps(WorkSessionWithSegmentsResponse s, Instant fromInclusive, Instant toExclusive, Instant nowUtc) {
+        if (toExclusive != null && !s.startTime().isBefore(toExclusive)) return false;
+        Instant end = s.endTime() != null ? s.endTime() : nowUtc;
+        return fromInclusive == null || end.isAfter(fromInclusive);
+    }
+
+    // Equals the generated start_date column (DATE(start_time) in UTC)
+    private static LocalDate dayUtcOf(WorkSessionWithSegmentsResponse s) {
+        return LocalDate.ofInstant(s.startTime(), ZoneOffset.UTC);
+    }
+
+    /**
+     * Deferred day stream returned by {@link #streamDays(WorkReportDaysRequest, String)}.
+     */
+    @FunctionalInterface
+    public interface DayStream {
+        void forEach(Consumer<WorkDayStreamResponse> sink);
+    }
 
-        return byDay.entrySet().stream()
-                .map(e -> new WorkDayResponse(e.getKey(), e.getValue()))
-                .toList();
+    /**
+     * Deferred session stream returned by {@link #streamSessions(Instant, Instant)}.
+     */
+    @FunctionalInterface
+    public interface SessionStream {
+        void forEach(Consumer<WorkSessionWithSegmentsResponse> sink);
     }
-}
\ No newline at end of file
+}
@@ -12,18 +12,24 @@ import com.mrfop.worktime.model.entity.CategoryEntity;
 import com.mrfop.worktime.model.entity.WorkSegmentEntity;
 import com.mrfop.worktime.model.entity.WorkSessionEntity;
 import com.mrfop.worktime.model.request.WorkSegmentPatchRequest;
+import com.mrfop.worktime.model.request.WorkSegmentSearchRequest;
 import com.mrfop.worktime.model.request.WorkSegmentStartRequest;
 import com.mrfop.worktime.model.request.WorkSegmentStopRequest;
+import com.mrfop.worktime.model.response.KeysetPage;
 import com.mrfop.worktime.model.response.WorkSegmentResponse;
 import com.mrfop.worktime.persistence.WorkSegmentPersistence;
 import com.mrfop.worktime.repository.ActivityRepository;
 import com.mrfop.worktime.repository.CategoryRepository;
 import com.mrfop.worktime.repository.WorkSessionRepository;
+import com.mrfop.worktime.service.WorkDayRollupService.Contribution;
+import com.mrfop.worktime.service.event.ChangeType;
+import com.mrfop.worktime.service.event.WorkSegmentChangedEvent;
+import com.mrfop.worktime.util.KeysetCursor;
 import com.mrfop.worktime.util.StringSanitizer;
 import com.mrfop.worktime.util.TimeRangeUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,6 +43,8 @@ import java.util.Optional;
 public class WorkSegmentService {
 
     private final WorkSegmentPersistence persistence;
+    private final WorkDayRollupService rollupService;
+    private final ApplicationEventPublisher events;
 
     // Data access used for orchestration (resolvers hide the details)
     private final WorkSessionRepository sessionRepo;
@@ -45,14 +53,30 @@ public class WorkSegmentService {
 
     /* ------------------------- READ ------------------------- */
 
+    /**
+     * Returns one page newest first; {@code before} is the {@code nextCursor} of the previous page.
+     * Pages are cached individually, so memory use is bounded by the cache size instead of the table size.
+     * Writes update the cached pages through {@link WorkCacheUpdater} instead of evicting them.
+     */
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "workSegments", key = "'all'")
-    public List<WorkSegmentResponse> findAll() {
-        return persistence.findAll();
+    @Cacheable(cacheNames = WorkCacheUpdater.SEGMENTS, key = "@workCacheUpdater.segmentPageKey(#limit, #before)", sync = true)
+    public KeysetPage<WorkSegmentResponse> findPage(int limit, String before) {
+        KeysetCursor cursor = KeysetCursor.parseOptional(before, Subject.WORK_SEGMENT, LookupField.BEFORE);
+        return persistence.findPage(limit, cursor);
     }
 
+    /**
+     * Returns one filtered page newest first. Not cached: filter combinations are open-ended and would only dilute
+     * the page cache; each page is a single index range read instead.
+     */
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "workSegments", key = "'current'")
+    public KeysetPage<WorkSegmentResponse> search(WorkSegmentSearchRequest req) {
+        KeysetCursor cursor = KeysetCursor.parseOptional(req.before(), Subject.WORK_SEGMENT, LookupField.BEFORE);
+        return persistence.search(req, req.limitOrDefault(), cursor);
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = WorkCacheUpdater.SEGMENTS, key = "'current'", sync = true)
     public Optional<WorkSegmentResponse> current() {
         return persistence.findCurrent();
     }
@@ -65,7 +89,6 @@ public class WorkSegmentService {
     /* ------------------------- ACTIONS ------------------------- */
 
     @Transactional
-    @CacheEvict(cacheNames = { "workSegments", "workSessions" }, allEntries = true)
     public WorkSegmentResponse start(WorkSegmentStartRequest request) {
         WorkSegmentStartRequest norm = normalizeStart(request);
 
@@ -83,26 +106,30 @@ public class WorkSegmentService {
         entity.setEndTime(null);
         entity.setComment(norm.comment());
 
-        return saveOrThrow(entity);
+        WorkSegmentResponse saved = saveOrThrow(entity);
+        publish(ChangeType.CREATED, null, saved, session);
+        return saved;
     }
 
     @Transactional
-    @CacheEvict(cacheNames = { "workSegments", "workSessions" }, allEntries = true)
     public WorkSegmentResponse stop(WorkSegmentStopRequest request) {
         WorkSegmentEntity open = resolveCurrentSegmentOrThrow();
+        WorkSegmentResponse before = persistence.toResponse(open);
 
         open.setEndTime(now());
         applyStopUpdates(open, request);
 
         validateRange(open.getStartTime(), open.getEndTime());
 
-        return saveOrThrow(open);
+        WorkSegmentResponse saved = saveOrThrow(open);
+        rollupService.apply(null, Contribution.ofSegment(open));
+        publish(ChangeType.UPDATED, before, saved, open.getWorkSession());
+        return saved;
     }
 
     /* ------------------------- PATCH ------------------------- */
 
     @Transactional
-    @CacheEvict(cacheNames = { "workSegments", "workSessions" }, allEntries = true)
     public WorkSegmentResponse patch(Long workSegmentId, WorkSegmentPatchRequest request) {
         if (!request.hasAny()) throw new NoFieldsToUpdateException(Subject.WORK_SEGMENT);
 
@@ -112,6 +139,8 @@ public class WorkSegmentService {
         WorkSegmentPatchRequest norm = normalizePatch(request);
 
         WorkSegmentEntity segment = persistence.lockByIdForUpdate(workSegmentId);
+        Contribution before = Contribution.ofSegment(segment);
+        WorkSegmentResponse previous = persistence.toResponse(segment);
 
         // Apply scalar patch in-memory (no DB write yet)
         persistence.applyPatch(segment, norm);
@@ -123,14 +152,21 @@ public class WorkSegmentService {
         validateRange(segment.getStartTime(), segment.getEndTime());
 
         // Now persist
-        return saveOrThrow(segment);
+        WorkSegmentResponse saved = saveOrThrow(segment);
+        rollupService.apply(before, Contribution.ofSegment(segment));
+        publish(ChangeType.UPDATED, previous, saved, segment.getWorkSession());
+        return saved;
     }
 
     /* ------------------------- DELETE ------------------------- */
 
     @Transactional
-    @CacheEvict(cacheNames = { "workSegments", "workSessions" }, allEntries = true)
     public void delete(Long workSegmentId) {
+        persistence.findByIdForUpdate(workSegmentId).ifPresent(segment -> {
+            rollupService.apply(Contribution.ofSegment(segment), null);
+            publish(ChangeType.DELETED, persistence.toResponse(segment), null, segment.getWorkSession());
+        });
+
         persistence.deleteById(workSegmentId);
     }
 
@@ -212,6 +248,10 @@ public class WorkSegmentService {
         TimeRangeUtil.requireValidOpenRange(Subject.WORK_SEGMENT, start, end);
     }
 
+    private void publish(ChangeType type, WorkSegmentResponse before, WorkSegmentResponse after, WorkSessionEntity session) {
+        events.publishEvent(new WorkSegmentChangedEvent(type, before, after, session.getStartTime(), session.getEndTime()));
+    }
+
     private WorkSegmentResponse saveOrThrow(WorkSegmentEntity entity) {
         try {
             return persistence.saveAndFlush(entity);
@@ -5,16 +5,22 @@ import com.mrfop.worktime.exception.OperationBlockedByRunningException;
 import com.mrfop.worktime.exception.ConflictException;
 import com.mrfop.worktime.exception.NoActiveException;
 import com.mrfop.worktime.exception.NoFieldsToUpdateException;
+import com.mrfop.worktime.exception.base.LookupField;
 import com.mrfop.worktime.exception.base.Subject;
 import com.mrfop.worktime.model.entity.WorkSessionEntity;
 import com.mrfop.worktime.model.request.WorkSessionPatchRequest;
+import com.mrfop.worktime.model.response.KeysetPage;
 import com.mrfop.worktime.model.response.WorkSessionResponse;
 import com.mrfop.worktime.persistence.WorkSegmentPersistence;
 import com.mrfop.worktime.persistence.WorkSessionPersistence;
+import com.mrfop.worktime.service.WorkDayRollupService.Contribution;
+import com.mrfop.worktime.service.event.ChangeType;
+import com.mrfop.worktime.service.event.WorkSessionChangedEvent;
+import com.mrfop.worktime.util.KeysetCursor;
 import com.mrfop.worktime.util.TimeRangeUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,17 +35,25 @@ public class WorkSessionService {
 
     private final WorkSessionPersistence persistence;
     private final WorkSegmentPersistence workSegmentPersistence;
+    private final WorkDayRollupService rollupService;
+    private final ApplicationEventPublisher events;
 
     /* ------------------------- READ ------------------------- */
 
+    /**
+     * Returns one page newest first; {@code before} is the {@code nextCursor} of the previous page.
+     * Pages are cached individually, so memory use is bounded by the cache size instead of the table size.
+     * Writes update the cached pages through {@link WorkCacheUpdater} instead of evicting them.
+     */
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "workSessions", key = "'all'")
-    public List<WorkSessionResponse> findAll() {
-        return persistence.findAll();
+    @Cacheable(cacheNames = WorkCacheUpdater.SESSIONS, key = "@workCacheUpdater.sessionPageKey(#limit, #before)", sync = true)
+    public KeysetPage<WorkSessionResponse> findPage(int limit, String before) {
+        KeysetCursor cursor = KeysetCursor.parseOptional(before, Subject.WORK_SESSION, LookupField.BEFORE);
+        return persistence.findPage(limit, cursor);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "workSessions", key = "'current'")
+    @Cacheable(cacheNames = WorkCacheUpdater.SESSIONS, key = "'current'", sync = true)
     public Optional<WorkSessionResponse> current() {
         return persistence.findCurrent();
     }
@@ -52,7 +66,6 @@ public class WorkSessionService {
     /* ------------------------- ACTIONS ------------------------- */
 
     @Transactional
-    @CacheEvict(cacheNames = { "workSessions", "workSegments" }, allEntries = true)
     public WorkSessionResponse start() {
         ensureNoActiveSession();
 
@@ -60,26 +73,30 @@ public class WorkSessionService {
         session.setStartTime(now());
         session.setEndTime(null);
 
-        return saveOrThrow(session);
+        WorkSessionResponse saved = saveOrThrow(session);
+        events.publishEvent(new WorkSessionChangedEvent(ChangeType.CREATED, null, saved));
+        return saved;
     }
 
     @Transactional
-    @CacheEvict(cacheNames = { "workSessions", "workSegments" }, allEntries = true)
     public WorkSessionResponse stop() {
         WorkSessionEntity current = lockCurrentSessionOrThrow();
 
         ensureNoActiveSegment();
 
+        WorkSessionResponse before = persistence.toResponse(current);
         current.setEndTime(now());
         validateRangeOrThrow(current.getStartTime(), current.getEndTime());
 
-        return saveOrThrow(current);
+        WorkSessionResponse saved = saveOrThrow(current);
+        rollupService.apply(null, Contribution.ofSession(current));
+        events.publishEvent(new WorkSessionChangedEvent(ChangeType.UPDATED, before, saved));
+        return saved;
     }
 
     /* ------------------------- PATCH ------------------------- */
 
     @Transactional
-    @CacheEvict(cacheNames = { "workSessions", "workSegments" }, allEntries = true)
     public WorkSessionResponse patch(Long id, WorkSessionPatchRequest request) {
         if (!request.hasAny()) throw new NoFieldsToUpdateException(Subject.WORK_SESSION);
 
@@ -87,6 +104,8 @@ public class WorkSessionService {
         validateRangeOrThrow(request.startTime(), request.endTime());
 
         WorkSessionEntity session = persistence.lockByIdForUpdate(id);
+        Contribution before = Contribution.ofSession(session);
+        WorkSessionResponse previous = persistence.toResponse(session);
 
         // Apply patch in-memory (no DB write yet)
         persistence.applyPatch(session, request);
@@ -95,14 +114,23 @@ public class WorkSessionService {
         validateRangeOrThrow(session.getStartTime(), session.getEndTime());
 
         // Now persist
-        return saveOrThrow(session);
+        WorkSessionResponse saved = saveOrThrow(session);
+        rollupService.apply(before, Contribution.ofSession(session));
+        events.publishEvent(new WorkSessionChangedEvent(ChangeType.UPDATED, previous, saved));
+        return saved;
     }
 
     /* ------------------------- DELETE ------------------------- */
 
     @Transactional
-    @CacheEvict(cacheNames = { "workSessions", "workSegments" }, allEntries = true)
     public void delete(Long workSessionId) {
+        persistence.findByIdForUpdate(workSessionId).ifPresent(session -> {
+            // Segments are removed by ON DELETE CASCADE, so take them out of the rollup first
+            rollupService.removeSegmentsOf(session.getId());
+            rollupService.apply(Contribution.ofSession(session), null);
+            events.publishEvent(new WorkSessionChangedEvent(ChangeType.DELETED, persistence.toResponse(session), null));
+        });
+
         persistence.deleteById(workSessionId);
     }
 
@@ -0,0 +1,10 @@
+package com.mrfop.worktime.service.event;
+
+/**
+ * Kind of write that produced a change event.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,20 @@
+package com.mrfop.worktime.service.event;
+
+import com.mrfop.worktime.exception.base.Subject;
+
+import java.time.Instant;
+
+/**
+ * Published by {@code CategoryService} / {@code ActivityService} inside the write transaction.
+ *
+ * @param subject   {@link Subject#CATEGORY} or {@link Subject#ACTIVITY}
+ * @param type      kind of write
+ * @param id        id of the changed row
+ * @param updatedAt {@code updated_at} after the write
+ */
+public record TaxonomyChangedEvent(
+        Subject subject,
+        ChangeType type,
+        Long id,
+        Instant updatedAt
+) {}
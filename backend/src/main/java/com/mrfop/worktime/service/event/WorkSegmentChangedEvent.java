@@ -0,0 +1,25 @@
+package com.mrfop.worktime.service.event;
+
+import com.mrfop.worktime.model.response.WorkSegmentResponse;
+
+import java.time.Instant;
+
+/**
+ * Published by {@code WorkSegmentService} inside the write transaction; listeners that react to committed data
+ * use {@code @TransactionalEventListener(phase = AFTER_COMMIT)}.
+ *
+ * <p>Carries the interval of the owning work session, because reports group segments under their session.</p>
+ *
+ * @param type             kind of write
+ * @param before           state before the write ({@code null} for {@link ChangeType#CREATED})
+ * @param after            state after the write ({@code null} for {@link ChangeType#DELETED})
+ * @param sessionStartTime start time of the owning work session (UTC)
+ * @param sessionEndTime   end time of the owning work session (UTC, {@code null} while running)
+ */
+public record WorkSegmentChangedEvent(
+        ChangeType type,
+        WorkSegmentResponse before,
+        WorkSegmentResponse after,
+        Instant sessionStartTime,
+        Instant sessionEndTime
+) {}
@@ -0,0 +1,17 @@
+package com.mrfop.worktime.service.event;
+
+import com.mrfop.worktime.model.response.WorkSessionResponse;
+
+/**
+ * Published by {@code WorkSessionService} inside the write transaction; listeners that react to committed data
+ * use {@code @TransactionalEventListener(phase = AFTER_COMMIT)}.
+ *
+ * @param type   kind of write
+ * @param before state before the write ({@code null} for {@link ChangeType#CREATED})
+ * @param after  state after the write ({@code null} for {@link ChangeType#DELETED})
+ */
+public record WorkSessionChangedEvent(
+        ChangeType type,
+        WorkSessionResponse before,
+        WorkSessionResponse after
+) {}
@@ -0,0 +1,61 @@
+package com.mrfop.worktime.service.jasper;
+
+import net.sf.jasperreports.engine.JRVirtualizer;
+import net.sf.jasperreports.engine.JasperPrint;
+
+/**
+ * A filled report together with the virtualizer holding its swapped pages.
+ *
+ * <p>The print can be exported any number of times, also concurrently, as long as it is retained. The swap file is
+ * deleted once the report is evicted (or closed by an owner that does not cache it) and the last export released it.</p>
+ */
+public final class FilledReport implements AutoCloseable {
+
+    private final JasperPrint print;
+    private final JRVirtualizer virtualizer;
+
+    private int users;
+    private boolean evicted;
+    private boolean closed;
+
+    FilledReport(JasperPrint print, JRVirtualizer virtualizer) {
+        this.print = print;
+        this.virtualizer = virtualizer;
+    }
+
+    public JasperPrint print() {
+        return print;
+    }
+
+    /**
+     * Marks an export of this report; false if the swap file is already gone.
+     */
+    synchronized boolean retain() {
+        if (closed) return false;
+        users++;
+        return true;
+    }
+
+    synchronized void release() {
+        users--;
+        if (evicted && users == 0) cleanup();
+    }
+
+    synchronized void evict() {
+        evicted = true;
+        if (users == 0) cleanup();
+    }
+
+    /**
+     * Discards a report that is not cached, see {@link JasperRenderer#fill}.
+     */
+    @Override
+    public void close() {
+        evict();
+    }
+
+    private void cleanup() {
+        closed = true;
+        virtualizer.cleanup(); // deletes the swap file
+    }
+}
@@ -0,0 +1,97 @@
+package com.mrfop.worktime.service.jasper;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.mrfop.worktime.config.ReportProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Filled reports kept briefly, so exporting the same request in a second format (e.g. PDF, then XLSX) skips the
+ * report query and the fill.
+ *
+ * <p>Keyed by the normalized export parameters plus the work data version. Entries expire after
+ * {@code worktime.report.jasper.fill-cache-ttl}; at most {@code fill-cache-size} are kept ({@code 0} = no reuse).
+ * Concurrent requests for the same key share one fill. Metrics: {@code cache.*{cache=filledReports}}.</p>
+ */
+@Component
+public class FilledReportCache {
+
+    public static final String CACHE_NAME = "filledReports";
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final AsyncCache<Key, FilledReport> cache;
+
+    public FilledReportCache(ReportProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.jasper().fillCacheSize())
+                .expireAfterWrite(properties.jasper().fillCacheTtl())
+                .removalListener((Key key, FilledReport report, RemovalCause cause) -> {
+                    if (report != null) report.evict();
+                })
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Runs {@code action} with the filled report of {@code key}, filling it first if no (live) report is cached.
+     * The report stays readable during {@code action} even if it is evicted meanwhile.
+     */
+    public void use(Key key, Supplier<FilledReport> fill, Consumer<FilledReport> action) {
+        // A waiter can lose the report to eviction between join and retain; it then retries (usually as the owner)
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            FilledReport report = acquire(key, fill);
+            if (report == null) continue;
+
+            try {
+                action.accept(report);
+            } finally {
+                report.release();
+            }
+            return;
+        }
+        throw new IllegalStateException("Filled report evicted before it could be exported: " + key);
+    }
+
+    /**
+     * Normalized export parameters plus the data version the report is filled from.
+     */
+    public record Key(Instant from, Instant to, String zone, String locale, boolean segments, String version) {}
+
+    // Retained report, or null if a shared report was closed before it could be retained
+    private FilledReport acquire(Key key, Supplier<FilledReport> fill) {
+        CompletableFuture<FilledReport> mine = new CompletableFuture<>();
+        CompletableFuture<FilledReport> shared = cache.get(key, (k, executor) -> mine);
+
+        if (shared == mine) {
+            try {
+                FilledReport report = fill.get();
+                report.retain(); // before publishing: with size 0 the entry is evicted right away
+                mine.complete(report);
+                return report;
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e); // removed from the cache by Caffeine
+                throw e;
+            }
+        }
+
+        FilledReport report;
+        try {
+            report = shared.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+        return report.retain() ? report : null;
+    }
+}
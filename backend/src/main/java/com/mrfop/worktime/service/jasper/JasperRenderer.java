@@ -1,50 +1,155 @@
 package com.mrfop.worktime.service.jasper;
 
+import com.mrfop.worktime.config.ReportProperties;
+import com.mrfop.worktime.model.enums.ReportFormat;
+import com.mrfop.worktime.service.jasper.JasperTemplateRegistry.Templates;
 import com.mrfop.worktime.service.jasper.model.WorkReportPdf;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import net.sf.jasperreports.engine.*;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
-import net.sf.jasperreports.engine.util.JRLoader; // <-- FIX
-import org.springframework.core.io.ResourceLoader;
+import net.sf.jasperreports.engine.export.HtmlExporter;
+import net.sf.jasperreports.engine.export.JRPdfExporter;
+import net.sf.jasperreports.engine.export.ooxml.JRDocxExporter;
+import net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
+import net.sf.jasperreports.engine.util.JRSwapFile;
+import net.sf.jasperreports.export.SimpleExporterInput;
+import net.sf.jasperreports.export.SimpleHtmlExporterOutput;
+import net.sf.jasperreports.export.SimpleOutputStreamExporterOutput;
+import net.sf.jasperreports.export.SimpleXlsxReportConfiguration;
 import org.springframework.stereotype.Component;
 
-import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Fills the work report and exports it as PDF, XLSX, DOCX or HTML.
+ *
+ * <p>Memory stays bounded for any range: days are pulled page by page from the given data source, filled pages beyond
+ * {@code worktime.report.jasper.in-memory-pages} are swapped to a temporary file (one swap file per fill, deleted with
+ * the {@link FilledReport}), and documents are written directly to the target stream instead of a {@code byte[]}.
+ * A filled report can be exported to several formats; see {@link FilledReportCache}.</p>
+ */
 @Component
-@RequiredArgsConstructor
 public class JasperRenderer {
 
-    private final ResourceLoader resourceLoader;
-
-    public byte[] renderPdf(WorkReportPdf model) {
-        try (
-            InputStream inMain = resourceLoader.getResource("classpath:jasper/work-report.jasper").getInputStream();
-            InputStream inDay = resourceLoader.getResource("classpath:jasper/subreports/day.jasper").getInputStream();
-            InputStream inSession = resourceLoader.getResource("classpath:jasper/subreports/session.jasper").getInputStream();
-            InputStream inSegment = resourceLoader.getResource("classpath:jasper/subreports/segment.jasper").getInputStream()
-        ) {
-            // Main Report
-            JasperReport reportMain = (JasperReport) JRLoader.loadObject(inMain);
-            // Subreports
-            JasperReport reportDay = (JasperReport) JRLoader.loadObject(inDay);
-            JasperReport reportSession = (JasperReport) JRLoader.loadObject(inSession);
-            JasperReport reportSegment = (JasperReport) JRLoader.loadObject(inSegment);
+    // Swap file layout: 4 KiB blocks, grown by 100 blocks at a time
+    private static final int SWAP_BLOCK_SIZE = 4096;
+    private static final int SWAP_MIN_GROW = 100;
 
+    private final JasperTemplateRegistry templates;
+    private final String swapDir;
+    private final int inMemoryPages;
+    private final Timer fillTimer;
+    private final Map<ReportFormat, Timer> exportTimers = new EnumMap<>(ReportFormat.class);
+
+    public JasperRenderer(JasperTemplateRegistry templates, ReportProperties properties, MeterRegistry meterRegistry) {
+        this.templates = templates;
+        Path dir = properties.jasper().swapDir();
+        this.swapDir = dir != null ? dir.toString() : System.getProperty("java.io.tmpdir");
+        this.inMemoryPages = properties.jasper().inMemoryPages();
+        this.fillTimer = Timer.builder("worktime.report.fill")
+                .description("Filling the report (reading the data; templates are shared)")
+                .register(meterRegistry);
+        for (ReportFormat format : ReportFormat.values()) {
+            exportTimers.put(format, Timer.builder("worktime.report.export")
+                    .description("Exporting a filled report")
+                    .tag("format", format.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Fills the report. The caller owns the result: it is cached ({@link FilledReportCache}) or closed after use.
+     *
+     * @param header report header ({@code days} is ignored)
+     * @param days   {@code DayPdf} rows, newest first; read once
+     */
+    public FilledReport fill(WorkReportPdf header, JRDataSource days) {
+        return fillTimer.record(() -> doFill(header, days));
+    }
+
+    /**
+     * Writes a filled report to {@code out} (not closed).
+     */
+    public void export(FilledReport report, ReportFormat format, OutputStream out) {
+        exportTimers.get(format).record(() -> doExport(report.print(), format, out));
+    }
+
+    private FilledReport doFill(WorkReportPdf header, JRDataSource days) {
+        // One set per fill: a hot reload never mixes old and new subreports
+        Templates t = templates.current();
+
+        JRSwapFileVirtualizer virtualizer = new JRSwapFileVirtualizer(
+                inMemoryPages, new JRSwapFile(swapDir, SWAP_BLOCK_SIZE, SWAP_MIN_GROW), true);
+
+        try {
             Map<String, Object> params = new HashMap<>();
-            params.put("SR_DAY", reportDay);
-            params.put("SR_SESSION", reportSession);
-            params.put("SR_SEGMENT", reportSegment);
+            params.put("SR_DAY", t.day());
+            params.put("SR_SESSION", t.session());
+            params.put("SR_SEGMENT", t.segment());
+            params.put("DAYS_DS", days);
+            params.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
 
-            JRBeanCollectionDataSource ds = new JRBeanCollectionDataSource(Collections.singletonList(model));
+            // The main report has a single row (the header); the days come from DAYS_DS
+            JRBeanCollectionDataSource ds = new JRBeanCollectionDataSource(Collections.singletonList(header));
 
-            JasperPrint print = JasperFillManager.fillReport(reportMain, params, ds);
-            return JasperExportManager.exportReportToPdf(print);
+            JasperPrint print = JasperFillManager.fillReport(t.main(), params, ds);
+            virtualizer.setReadOnly(true); // exports only read pages back; no re-serialization
+
+            return new FilledReport(print, virtualizer);
 
         } catch (Exception e) {
-            throw new RuntimeException("Failed to render PDF", e);
+            virtualizer.cleanup(); // deletes the swap file
+            throw new RuntimeException("Failed to fill report", e);
+        }
+    }
+
+    private static void doExport(JasperPrint print, ReportFormat format, OutputStream out) {
+        SimpleExporterInput input = new SimpleExporterInput(print);
+        try {
+            switch (format) {
+                case PDF -> {
+                    JRPdfExporter exporter = new JRPdfExporter();
+                    exporter.setExporterInput(input);
+                    exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(out));
+                    exporter.exportReport();
+                }
+                case XLSX -> {
+                    // One sheet, rows without the page gaps, numbers as numeric cells
+                    SimpleXlsxReportConfiguration config = new SimpleXlsxReportConfiguration();
+                    config.setOnePagePerSheet(false);
+                    config.setRemoveEmptySpaceBetweenRows(true);
+                    config.setDetectCellType(true);
+                    config.setWhitePageBackground(false);
+
+                    JRXlsxExporter exporter = new JRXlsxExporter();
+                    exporter.setExporterInput(input);
+                    exporter.setConfiguration(config);
+                    exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(out));
+                    exporter.exportReport();
+                }
+                case DOCX -> {
+                    JRDocxExporter exporter = new JRDocxExporter();
+                    exporter.setExporterInput(input);
+                    exporter.setExporterOutput(new SimpleOutputStreamExporterOutput(out));
+                    exporter.exportReport();
+                }
+                case HTML -> {
+                    HtmlExporter exporter = new HtmlExporter();
+                    exporter.setExporterInput(input);
+                    exporter.setExporterOutput(new SimpleHtmlExporterOutput(out, StandardCharsets.UTF_8.name()));
+                    exporter.exportReport();
+                }
+            }
+        } catch (JRException e) {
+            throw new RuntimeException("Failed to export report as " + format, e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,160 @@
+package com.mrfop.worktime.service.jasper;
+
+import com.mrfop.worktime.config.ReportProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.util.JRLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiled Jasper templates, loaded once and shared by all renders.
+ *
+ * <p>{@link JasperReport} is immutable after loading and safe to fill concurrently, so deserializing the
+ * {@code .jasper} files per export only cost time and garbage. All four templates are loaded and validated at
+ * startup (a missing or broken template fails the application start instead of the first export).</p>
+ *
+ * <p>With {@code worktime.report.jasper.template-dir} set, the templates are read from that directory instead, and
+ * {@link #current()} checks the file modification times at most every {@code reload-interval}. A changed set is
+ * reloaded as a whole and swapped atomically; if it does not load (or the files cannot be read), the previous set
+ * stays active. Reloads are counted as {@code worktime.report.templates.reload{result=reloaded|failed}}.</p>
+ *
+ * <p>Load time is recorded as {@code worktime.report.templates.load}, i.e. what each export used to spend on
+ * deserialization before {@code worktime.report.fill} and {@code worktime.report.export{format}};
+ * {@code JasperTemplateReuseBenchmarkTest} measures export latency with and without reuse.</p>
+ */
+@Component
+public class JasperTemplateRegistry {
+
+    private static final String MAIN = "work-report.jasper";
+    private static final String DAY = "subreports/day.jasper";
+    private static final String SESSION = "subreports/session.jasper";
+    private static final String SEGMENT = "subreports/segment.jasper";
+
+    /**
+     * One consistent set of compiled templates (main report and its subreports).
+     */
+    public record Templates(JasperReport main, JasperReport day, JasperReport session, JasperReport segment) {}
+
+    private final ResourceLoader resourceLoader;
+    private final Path templateDir;
+    private final long reloadIntervalNanos;
+    private final Timer loadTimer;
+    private final Counter reloaded;
+    private final Counter reloadFailed;
+
+    private final AtomicLong nextCheck = new AtomicLong();
+    private volatile Templates templates;
+    private volatile FileTime loadedModified;
+
+    public JasperTemplateRegistry(ResourceLoader resourceLoader, ReportProperties properties, MeterRegistry meterRegistry) {
+        this.resourceLoader = resourceLoader;
+        this.templateDir = properties.jasper().templateDir();
+        this.reloadIntervalNanos = properties.jasper().reloadInterval().toNanos();
+        this.loadTimer = Timer.builder("worktime.report.templates.load")
+                .description("Loading and validating the compiled Jasper templates")
+                .register(meterRegistry);
+        this.reloaded = reloadCounter(meterRegistry, "reloaded");
+        this.reloadFailed = reloadCounter(meterRegistry, "failed");
+
+        // Fail fast: a broken template is a deployment error
+        this.loadedModified = templateDir != null ? lastModified() : null;
+        this.templates = load();
+        this.nextCheck.set(System.nanoTime() + reloadIntervalNanos);
+    }
+
+    /* ------------------------- READ ------------------------- */
+
+    /**
+     * Returns the active template set; reloads it first when hot reload is enabled and a file has changed.
+     */
+    public Templates current() {
+        if (templateDir != null) reloadIfChanged();
+        return templates;
+    }
+
+    /* ------------------------- HOT RELOAD ------------------------- */
+
+    private void reloadIfChanged() {
+        long now = System.nanoTime();
+        long due = nextCheck.get();
+        // One caller per interval checks the files; everyone else keeps using the active set
+        if (now - due < 0 || !nextCheck.compareAndSet(due, now + reloadIntervalNanos)) return;
+
+        FileTime modified;
+        try {
+            modified = lastModified();
+        } catch (IllegalStateException e) {
+            reloadFailed.increment(); // keep the active set
+            return;
+        }
+        if (modified.equals(loadedModified)) return;
+
+        try {
+            templates = load();
+            loadedModified = modified;
+            reloaded.increment();
+        } catch (IllegalStateException e) {
+            reloadFailed.increment(); // keep the active set
+        }
+    }
+
+    private static Counter reloadCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("worktime.report.templates.reload")
+                .description("Hot reloads of the Jasper templates")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // Newest modification time of the four files (the set is reloaded as a whole)
+    private FileTime lastModified() {
+        FileTime newest = FileTime.fromMillis(0);
+        for (String name : new String[] { MAIN, DAY, SESSION, SEGMENT }) {
+            try {
+                FileTime time = Files.getLastModifiedTime(templateDir.resolve(name));
+                if (time.compareTo(newest) > 0) newest = time;
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot stat Jasper template " + templateDir.resolve(name), e);
+            }
+        }
+        return newest;
+    }
+
+    /* ------------------------- LOADING ------------------------- */
+
+    private Templates load() {
+        long start = System.nanoTime();
+        try {
+            return new Templates(read(MAIN), read(DAY), read(SESSION), read(SEGMENT));
+        } finally {
+            loadTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private JasperReport read(String name) {
+        try (InputStream in = open(name)) {
+            if (JRLoader.loadObject(in) instanceof JasperReport report) return report;
+            throw new IllegalStateException("Not a compiled Jasper report: " + name);
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to load Jasper template " + name, e);
+        }
+    }
+
+    private InputStream open(String name) throws IOException {
+        return templateDir != null
+                ? Files.newInputStream(templateDir.resolve(name))
+                : resourceLoader.getResource("classpath:jasper/" + name).getInputStream();
+    }
+}
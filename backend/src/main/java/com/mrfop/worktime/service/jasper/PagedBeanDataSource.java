@@ -0,0 +1,49 @@
+package com.mrfop.worktime.service.jasper;
+
+import net.sf.jasperreports.engine.JRDataSource;
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRField;
+import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Bean data source that pulls its rows page by page while the report is filled.
+ *
+ * <p>{@code nextPage} is called whenever the current page is exhausted; an empty list ends the data source. Only one
+ * page is referenced at a time, so the fill never holds more than one page of report data.
+ * Not rewindable: use it for a single subreport pass.</p>
+ */
+public class PagedBeanDataSource<T> implements JRDataSource {
+
+    private final Supplier<List<T>> nextPage;
+
+    private JRBeanCollectionDataSource page;
+    private boolean exhausted;
+
+    public PagedBeanDataSource(Supplier<List<T>> nextPage) {
+        this.nextPage = nextPage;
+    }
+
+    @Override
+    public boolean next() throws JRException {
+        while (!exhausted) {
+            if (page != null && page.next()) return true;
+
+            List<T> rows = nextPage.get();
+            if (rows.isEmpty()) {
+                exhausted = true;
+                page = null;
+            } else {
+                page = new JRBeanCollectionDataSource(rows);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Object getFieldValue(JRField field) throws JRException {
+        return page.getFieldValue(field);
+    }
+}
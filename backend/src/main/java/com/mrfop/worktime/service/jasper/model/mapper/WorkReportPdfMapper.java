@@ -1,8 +1,8 @@
 package com.mrfop.worktime.service.jasper.model.mapper;
 
 import com.mrfop.worktime.model.response.WorkDayResponse;
+import com.mrfop.worktime.model.response.WorkDaySessionResponse;
 import com.mrfop.worktime.model.response.WorkSegmentResponse;
-import com.mrfop.worktime.model.response.WorkSessionWithSegmentsResponse;
 import com.mrfop.worktime.service.jasper.model.DayPdf;
 import com.mrfop.worktime.service.jasper.model.SegmentPdf;
 import com.mrfop.worktime.service.jasper.model.SessionPdf;
@@ -20,30 +20,17 @@ import java.util.*;
 @Component
 public class WorkReportPdfMapper {
 
-    public WorkReportPdf toPdfModel(
-            List<WorkDayResponse> days,
-            Instant from,
-            Instant to,
-            ZoneId zone,
-            Locale locale,
-            boolean includeSegments
-    ) {
+    /**
+     * Report header (title, period, generation time, zone); the days are supplied separately while filling.
+     */
+    public WorkReportPdf toPdfHeader(Instant from, Instant to, ZoneId zone, Locale locale) {
         WorkReportPdfLabels labels = WorkReportPdfLabels.EN;
 
-        // Prepare formatters
         DateTimeFormatter dateTimeFmt = TimeFormatUtil.dateTimeFormatter(zone, locale);
-        DateTimeFormatter dayFmt = TimeFormatUtil.dayLabelFormatter(zone, locale);
 
         String periodLabel = TimeFormatUtil.formatPeriod(from, to, dateTimeFmt, labels.missingPlaceholder());
         String generatedAtLabel = TimeFormatUtil.formatGeneratedAt(Instant.now(), dateTimeFmt);
 
-        List<WorkDayResponse> safeDays = (days == null) ? List.of() : days;
-
-        // Build day models
-        List<DayPdf> dayPdfs = safeDays.stream()
-                .map(d -> mapDay(d, includeSegments, dateTimeFmt, dayFmt, labels))
-                .toList();
-
         return WorkReportPdf.builder()
                 .titleLabel(labels.titleWorkSessions())
                 .txtPeriodLabel(labels.txtPeriodLabel())
@@ -52,10 +39,27 @@ public class WorkReportPdfMapper {
                 .generatedAtLabel(generatedAtLabel)
                 .txtZoneLabel(labels.txtZoneLabel())
                 .zoneLabel(zone.getId())
-                .days(dayPdfs)
+                .days(List.of())
                 .build();
     }
 
+    /**
+     * Maps one page of days (already formatted for tz/locale).
+     */
+    public List<DayPdf> toDayPdfs(List<WorkDayResponse> days, ZoneId zone, Locale locale, boolean includeSegments) {
+        WorkReportPdfLabels labels = WorkReportPdfLabels.EN;
+
+        // Prepare formatters
+        DateTimeFormatter dateTimeFmt = TimeFormatUtil.dateTimeFormatter(zone, locale);
+        DateTimeFormatter dayFmt = TimeFormatUtil.dayLabelFormatter(zone, locale);
+
+        List<DayPdf> dayPdfs = new ArrayList<>(days.size());
+        for (WorkDayResponse d : days) {
+            dayPdfs.add(mapDay(d, includeSegments, dateTimeFmt, dayFmt, labels));
+        }
+        return dayPdfs;
+    }
+
     private DayPdf mapDay(
             WorkDayResponse day,
             boolean includeSegments,
@@ -63,38 +67,29 @@ public class WorkReportPdfMapper {
             DateTimeFormatter dayFmt,
             WorkReportPdfLabels labels
     ) {
-        List<WorkSessionWithSegmentsResponse> sessions = Optional.ofNullable(day.sessions()).orElse(List.of());
-
-        long totalSessionSecs = 0;
-        long totalSegmentSecs = 0;
+        // Days come from WorkReportEngine: lists are never null and totals are already clipped to the local day
+        List<WorkDaySessionResponse> sessions = day.sessions();
 
         List<SessionPdf> sessionPdfs = new ArrayList<>(sessions.size());
-        for (WorkSessionWithSegmentsResponse s : sessions) {
-            SessionCalc calc = calcSession(s);
-            totalSessionSecs += calc.sessionSecs;
-            totalSegmentSecs += calc.segmentSecs;
-
-            sessionPdfs.add(mapSession(s, calc, includeSegments, dateTimeFmt, labels));
+        for (WorkDaySessionResponse s : sessions) {
+            sessionPdfs.add(mapSession(s, includeSegments, dateTimeFmt, labels));
         }
 
-        long totalUnallocatedSecs = Math.max(0, totalSessionSecs - totalSegmentSecs);
-
         return DayPdf.builder()
                 .txtDayLabel(labels.txtDayLabel())
-                .dayLabel(TimeFormatUtil.formatDayLabel(day.dayUtc(), dayFmt))
+                .dayLabel(TimeFormatUtil.formatDayLabel(day.day(), dayFmt))
                 .txtTotalLabel(labels.txtTotalLabel())
-                .totalLabel(TimeFormatUtil.formatDuration(totalSessionSecs))
+                .totalLabel(TimeFormatUtil.formatDuration(day.sessionSeconds()))
                 .txtSegmentsLabel(labels.txtSegmentsLabel())
-                .segmentsLabel(TimeFormatUtil.formatDuration(totalSegmentSecs))
+                .segmentsLabel(TimeFormatUtil.formatDuration(day.segmentSeconds()))
                 .txtUnallocatedLabel(labels.txtUnallocatedLabel())
-                .unallocatedLabel(TimeFormatUtil.formatDuration(totalUnallocatedSecs))
+                .unallocatedLabel(TimeFormatUtil.formatDuration(day.unallocatedSeconds()))
                 .sessions(sessionPdfs)
                 .build();
     }
 
     private SessionPdf mapSession(
-            WorkSessionWithSegmentsResponse s,
-            SessionCalc calc,
+            WorkDaySessionResponse s,
             boolean includeSegments,
             DateTimeFormatter dateTimeFmt,
             WorkReportPdfLabels labels
@@ -103,7 +98,7 @@ public class WorkReportPdfMapper {
         String endLabel = (s.endTime() != null) ? TimeFormatUtil.formatInstant(s.endTime(), dateTimeFmt) : "";
 
         List<SegmentPdf> segments = includeSegments
-                ? mapSegments(Optional.ofNullable(s.items()).orElse(List.of()), dateTimeFmt, labels)
+                ? mapSegments(s.items(), dateTimeFmt, labels)
                 : List.of();
 
         return SessionPdf.builder()
@@ -112,11 +107,11 @@ public class WorkReportPdfMapper {
             .txtEndLabel(labels.txtEndLabel())
             .endLabel(endLabel)
             .txtDurationLabel(labels.txtDurationLabel())
-            .durationLabel(TimeFormatUtil.formatDuration(calc.sessionSecs))
+            .durationLabel(TimeFormatUtil.formatDuration(s.durationSeconds()))
             .txtSegmentsLabel(labels.txtSegmentsLabel())
-            .segmentsLabel(TimeFormatUtil.formatDuration(calc.segmentSecs))
+            .segmentsLabel(TimeFormatUtil.formatDuration(s.segmentSeconds()))
             .txtUnallocatedLabel(labels.txtUnallocatedLabel())
-            .unallocatedLabel(TimeFormatUtil.formatDuration(calc.unallocatedSecs))
+            .unallocatedLabel(TimeFormatUtil.formatDuration(s.unallocatedSeconds()))
             .segments(segments)
             .build();
     }
@@ -147,21 +142,4 @@ public class WorkReportPdfMapper {
                 })
                 .toList();
     }
-
-    private static SessionCalc calcSession(WorkSessionWithSegmentsResponse s) {
-        Instant start = s.startTime();
-        Instant end = s.endTime();
-
-        long sessionSecs = TimeMathUtil.diffSeconds(start, end);
-
-        List<WorkSegmentResponse> items = (s.items() == null) ? List.of() : s.items();
-        long segmentSecs = items.stream()
-                .mapToLong(seg -> TimeMathUtil.diffSeconds(seg.startTime(), seg.endTime()))
-                .sum();
-
-        long unallocatedSecs = Math.max(0, sessionSecs - segmentSecs);
-        return new SessionCalc(sessionSecs, segmentSecs, unallocatedSecs);
-    }
-
-    private record SessionCalc(long sessionSecs, long segmentSecs, long unallocatedSecs) {}
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package com.mrfop.worktime.service.report;
+
+import com.mrfop.worktime.model.response.WorkSegmentResponse;
+import com.mrfop.worktime.model.response.WorkSessionWithSegmentsResponse;
+
+import java.util.List;
+
+/**
+ * Primitive, column-oriented copy of a list of sessions with their segments.
+ *
+ * <p>Times are epoch millis; running intervals are closed at {@code nowMillis} (never before their start).
+ * Segments of session {@code i} occupy {@code [segmentOffset[i], segmentOffset[i + 1])} of the segment columns.
+ * The original response records are kept by index, only to be handed out as report items.</p>
+ */
+final class ReportColumns {
+
+    final int sessionCount;
+    final long[] sessionStart;
+    final long[] sessionEnd;
+    final int[] segmentOffset;
+
+    final long[] segmentStart;
+    final long[] segmentEnd;
+
+    final WorkSessionWithSegmentsResponse[] sessions;
+    final WorkSegmentResponse[] segments;
+
+    private ReportColumns(int sessionCount, int segmentCount) {
+        this.sessionCount = sessionCount;
+        this.sessionStart = new long[sessionCount];
+        this.sessionEnd = new long[sessionCount];
+        this.segmentOffset = new int[sessionCount + 1];
+        this.segmentStart = new long[segmentCount];
+        this.segmentEnd = new long[segmentCount];
+        this.sessions = new WorkSessionWithSegmentsResponse[sessionCount];
+        this.segments = new WorkSegmentResponse[segmentCount];
+    }
+
+    static ReportColumns of(List<WorkSessionWithSegmentsResponse> source, long nowMillis) {
+        int segmentCount = 0;
+        for (WorkSessionWithSegmentsResponse s : source) {
+            segmentCount += s.items().size();
+        }
+
+        ReportColumns c = new ReportColumns(source.size(), segmentCount);
+
+        int j = 0;
+        for (int i = 0; i < c.sessionCount; i++) {
+            WorkSessionWithSegmentsResponse s = source.get(i);
+
+            c.sessions[i] = s;
+            c.sessionStart[i] = s.startTime().toEpochMilli();
+            c.sessionEnd[i] = s.endTime() != null
+                    ? s.endTime().toEpochMilli()
+                    : Math.max(nowMillis, c.sessionStart[i]);
+            c.segmentOffset[i] = j;
+
+            for (WorkSegmentResponse seg : s.items()) {
+                c.segments[j] = seg;
+                c.segmentStart[j] = seg.startTime().toEpochMilli();
+                c.segmentEnd[j] = seg.endTime() != null
+                        ? seg.endTime().toEpochMilli()
+                        : Math.max(nowMillis, c.segmentStart[j]);
+                j++;
+            }
+        }
+        c.segmentOffset[c.sessionCount] = j;
+
+        return c;
+    }
+}
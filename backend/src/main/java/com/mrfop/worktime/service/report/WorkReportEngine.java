@@ -0,0 +1,198 @@
+package com.mrfop.worktime.service.report;
+
+import com.mrfop.worktime.model.response.WorkDayResponse;
+import com.mrfop.worktime.model.response.WorkDaySessionResponse;
+import com.mrfop.worktime.model.response.WorkSegmentResponse;
+import com.mrfop.worktime.model.response.WorkSessionWithSegmentsResponse;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Buckets sessions into local days and computes all report totals.
+ *
+ * <h2>Pipeline</h2>
+ * <ol>
+ *   <li>Copy the sessions into {@link ReportColumns} (epoch millis, segment offsets per session).</li>
+ *   <li>Precompute the local midnight of every day in the covered span once ({@code long[]}), so DST is handled by
+ *       {@link ZoneId} a single time per day instead of per row.</li>
+ *   <li>Assign sessions to days in two counting passes, producing session offsets per day (CSR layout).</li>
+ *   <li>Assemble the days independently; all clipping and summing runs in primitive loops. Large reports are
+ *       assembled in parallel on the common fork-join pool.</li>
+ * </ol>
+ *
+ * <p>Both the JSON day report and the PDF export are built from the output of {@link #days}.</p>
+ */
+@Component
+public class WorkReportEngine {
+
+    // Below this many days the fork-join overhead outweighs the gain
+    private static final int PARALLEL_DAY_THRESHOLD = 64;
+
+    /**
+     * Buckets the given sessions into local days of {@code zone} and splits them at local midnight.
+     *
+     * @param sessions      sessions overlapping the range, newest first
+     * @param zone          zone defining local days
+     * @param fromInclusive lower bound of the range (optional); days ending before it are omitted
+     * @param toExclusive   upper bound of the range (optional); days starting at or after it are omitted
+     * @param now           end of running intervals
+     * @return non-empty days, newest first; sessions within a day newest first
+     */
+    public List<WorkDayResponse> days(
+            List<WorkSessionWithSegmentsResponse> sessions,
+            ZoneId zone,
+            Instant fromInclusive,
+            Instant toExclusive,
+            Instant now
+    ) {
+        if (sessions.isEmpty()) return List.of();
+
+        ReportColumns c = ReportColumns.of(sessions, now.toEpochMilli());
+        int n = c.sessionCount;
+
+        long from = fromInclusive != null ? fromInclusive.toEpochMilli() : Long.MIN_VALUE;
+        long to = toExclusive != null ? toExclusive.toEpochMilli() : Long.MAX_VALUE;
+
+        // 1) Day grid: dayStart[d] is local midnight of firstDay + d, dayStart[dayCount] closes the last day
+        long minStart = Long.MAX_VALUE;
+        long maxEnd = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            minStart = Math.min(minStart, c.sessionStart[i]);
+            maxEnd = Math.max(maxEnd, c.sessionEnd[i]);
+        }
+
+        LocalDate firstDay = LocalDate.ofInstant(Instant.ofEpochMilli(minStart), zone);
+        LocalDate lastDay = LocalDate.ofInstant(Instant.ofEpochMilli(maxEnd), zone);
+        int dayCount = (int) (lastDay.toEpochDay() - firstDay.toEpochDay()) + 1;
+
+        long[] dayStart = new long[dayCount + 1];
+        for (int d = 0; d <= dayCount; d++) {
+            dayStart[d] = firstDay.plusDays(d).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+
+        // 2) Day span per session (an interval ending exactly at midnight does not touch the next day)
+        int[] firstIdx = new int[n];
+        int[] lastIdx = new int[n];
+        int[] counts = new int[dayCount];
+
+        for (int i = 0; i < n; i++) {
+            long start = c.sessionStart[i];
+            long end = c.sessionEnd[i];
+
+            int a = dayIndex(dayStart, start);
+            int b = end > start ? dayIndex(dayStart, end - 1) : a;
+
+            // Clip to days overlapping the requested range
+            while (a <= b && dayStart[a + 1] <= from) a++;
+            while (b >= a && dayStart[b] >= to) b--;
+
+            firstIdx[i] = a;
+            lastIdx[i] = b;
+            for (int d = a; d <= b; d++) counts[d]++;
+        }
+
+        // 3) CSR: sessions of day d are daySessions[dayOffset[d] .. dayOffset[d + 1]), in input order (newest first)
+        int[] dayOffset = new int[dayCount + 1];
+        for (int d = 0; d < dayCount; d++) dayOffset[d + 1] = dayOffset[d] + counts[d];
+
+        int[] daySessions = new int[dayOffset[dayCount]];
+        int[] cursor = Arrays.copyOf(dayOffset, dayCount);
+        for (int i = 0; i < n; i++) {
+            for (int d = firstIdx[i]; d <= lastIdx[i]; d++) daySessions[cursor[d]++] = i;
+        }
+
+        // 4) Assemble non-empty days, newest first
+        int[] nonEmpty = IntStream.iterate(dayCount - 1, d -> d >= 0, d -> d - 1)
+                .filter(d -> counts[d] > 0)
+                .toArray();
+
+        IntStream order = IntStream.of(nonEmpty);
+        if (nonEmpty.length >= PARALLEL_DAY_THRESHOLD) order = order.parallel();
+
+        String zoneId = zone.getId();
+        return order
+                .mapToObj(d -> assembleDay(c, firstDay.plusDays(d), zoneId, dayStart[d], dayStart[d + 1],
+                        daySessions, dayOffset[d], dayOffset[d + 1]))
+                .toList();
+    }
+
+    private static WorkDayResponse assembleDay(
+            ReportColumns c,
+            LocalDate day,
+            String zoneId,
+            long windowStart,
+            long windowEnd,
+            int[] daySessions,
+            int begin,
+            int end
+    ) {
+        List<WorkDaySessionResponse> sessions = new ArrayList<>(end - begin);
+        long daySegmentSecs = 0;
+        long daySessionSecs = 0;
+
+        for (int k = begin; k < end; k++) {
+            int i = daySessions[k];
+
+            long sessionSecs = overlapSeconds(c.sessionStart[i], c.sessionEnd[i], windowStart, windowEnd);
+            long segmentSecs = 0;
+
+            int segBegin = c.segmentOffset[i];
+            int segEnd = c.segmentOffset[i + 1];
+            List<WorkSegmentResponse> items = new ArrayList<>(segEnd - segBegin);
+
+            for (int j = segBegin; j < segEnd; j++) {
+                long s = c.segmentStart[j];
+                long e = c.segmentEnd[j];
+
+                // Zero-length segments belong to the day they start in
+                boolean touchesDay = s < windowEnd && (e > windowStart || s >= windowStart);
+                if (!touchesDay) continue;
+
+                items.add(c.segments[j]);
+                segmentSecs += overlapSeconds(s, e, windowStart, windowEnd);
+            }
+
+            WorkSessionWithSegmentsResponse src = c.sessions[i];
+            sessions.add(new WorkDaySessionResponse(
+                    src.id(),
+                    src.startTime(),
+                    src.endTime(),
+                    sessionSecs,
+                    segmentSecs,
+                    Math.max(0, sessionSecs - segmentSecs),
+                    List.copyOf(items)
+            ));
+
+            daySessionSecs += sessionSecs;
+            daySegmentSecs += segmentSecs;
+        }
+
+        return new WorkDayResponse(
+                day,
+                zoneId,
+                daySessionSecs,
+                daySegmentSecs,
+                Math.max(0, daySessionSecs - daySegmentSecs),
+                List.copyOf(sessions)
+        );
+    }
+
+    // Index d with dayStart[d] <= t < dayStart[d + 1]
+    private static int dayIndex(long[] dayStart, long t) {
+        int i = Arrays.binarySearch(dayStart, t);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    // Whole seconds of [start, end) inside [windowStart, windowEnd); floors like Duration#getSeconds
+    private static long overlapSeconds(long start, long end, long windowStart, long windowEnd) {
+        long ms = Math.min(end, windowEnd) - Math.max(start, windowStart);
+        return ms > 0 ? ms / 1000 : 0;
+    }
+}
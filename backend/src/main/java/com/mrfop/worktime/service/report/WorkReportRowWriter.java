@@ -0,0 +1,184 @@
+package com.mrfop.worktime.service.report;
+
+import com.mrfop.worktime.model.response.WorkReportSegmentRow;
+import com.mrfop.worktime.model.response.WorkReportSessionRow;
+import com.mrfop.worktime.model.response.WorkSegmentResponse;
+import com.mrfop.worktime.model.response.WorkSessionWithSegmentsResponse;
+import com.mrfop.worktime.util.StringSanitizer;
+import com.mrfop.worktime.util.TimeFormatUtil;
+import com.mrfop.worktime.util.TimeMathUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Writes sessions as flat export rows, one line per session or per segment, without building a report model.
+ *
+ * <p>Sessions are unsplit (not clipped to local days or the range); running intervals are measured until
+ * {@code nowUtc} and have an empty end. CSV follows RFC 4180 (comma separated, CRLF, fields quoted when needed, header
+ * line first); fields a spreadsheet would evaluate as a formula are prefixed with {@code '}. NDJSON writes one
+ * {@link WorkReportSessionRow} / {@link WorkReportSegmentRow} object per line.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkReportRowWriter {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String[] SESSION_COLUMNS = {
+            "session_id", "start", "end", "start_iso", "end_iso",
+            "duration_seconds", "duration", "segment_seconds", "unallocated_seconds"
+    };
+    private static final String[] SEGMENT_COLUMNS = {
+            "session_id", "segment_id", "start", "end", "start_iso", "end_iso",
+            "duration_seconds", "duration", "category", "activity", "comment"
+    };
+
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Row sink bound to one export; {@link #header()} once, then {@link #write} per session in output order.
+     */
+    public Rows open(Writer out, Format format, boolean perSegment, ZoneId zone, Locale locale, Instant nowUtc) {
+        return new Rows(out, format, perSegment, TimeFormatUtil.dateTimeFormatter(zone, locale),
+                DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(zone), nowUtc);
+    }
+
+    public final class Rows {
+
+        private final Writer out;
+        private final Format format;
+        private final boolean perSegment;
+        private final DateTimeFormatter displayFmt;
+        private final DateTimeFormatter isoFmt;
+        private final Instant nowUtc;
+
+        private Rows(Writer out, Format format, boolean perSegment, DateTimeFormatter displayFmt,
+                     DateTimeFormatter isoFmt, Instant nowUtc) {
+            this.out = out;
+            this.format = format;
+            this.perSegment = perSegment;
+            this.displayFmt = displayFmt;
+            this.isoFmt = isoFmt;
+            this.nowUtc = nowUtc;
+        }
+
+        public void header() {
+            if (format == Format.CSV) csvLine(perSegment ? SEGMENT_COLUMNS : SESSION_COLUMNS);
+        }
+
+        public void write(WorkSessionWithSegmentsResponse session) {
+            if (perSegment) {
+                for (WorkSegmentResponse seg : session.items()) writeSegment(session.id(), seg);
+            } else {
+                writeSession(session);
+            }
+        }
+
+        private void writeSession(WorkSessionWithSegmentsResponse s) {
+            long durationSecs = seconds(s.startTime(), s.endTime());
+            long segmentSecs = 0;
+            for (WorkSegmentResponse seg : s.items()) segmentSecs += seconds(seg.startTime(), seg.endTime());
+
+            WorkReportSessionRow row = new WorkReportSessionRow(
+                    s.id(),
+                    TimeFormatUtil.formatInstant(s.startTime(), displayFmt),
+                    TimeFormatUtil.formatInstant(s.endTime(), displayFmt),
+                    TimeFormatUtil.formatInstant(s.startTime(), isoFmt),
+                    TimeFormatUtil.formatInstant(s.endTime(), isoFmt),
+                    durationSecs,
+                    TimeFormatUtil.formatDuration(durationSecs),
+                    segmentSecs,
+                    Math.max(0, durationSecs - segmentSecs)
+            );
+
+            if (format == Format.NDJSON) {
+                jsonLine(row);
+            } else {
+                csvLine(
+                        String.valueOf(row.sessionId()), row.start(), row.end(), row.startIso(), row.endIso(),
+                        String.valueOf(row.durationSeconds()), row.duration(),
+                        String.valueOf(row.segmentSeconds()), String.valueOf(row.unallocatedSeconds())
+                );
+            }
+        }
+
+        private void writeSegment(Long sessionId, WorkSegmentResponse seg) {
+            long durationSecs = seconds(seg.startTime(), seg.endTime());
+
+            WorkReportSegmentRow row = new WorkReportSegmentRow(
+                    sessionId,
+                    seg.id(),
+                    TimeFormatUtil.formatInstant(seg.startTime(), displayFmt),
+                    TimeFormatUtil.formatInstant(seg.endTime(), displayFmt),
+                    TimeFormatUtil.formatInstant(seg.startTime(), isoFmt),
+                    TimeFormatUtil.formatInstant(seg.endTime(), isoFmt),
+                    durationSecs,
+                    TimeFormatUtil.formatDuration(durationSecs),
+                    seg.categoryName(),
+                    seg.activityName(),
+                    StringSanitizer.normalizeNonNull(seg.comment())
+            );
+
+            if (format == Format.NDJSON) {
+                jsonLine(row);
+            } else {
+                csvLine(
+                        String.valueOf(row.sessionId()), String.valueOf(row.segmentId()),
+                        row.start(), row.end(), row.startIso(), row.endIso(),
+                        String.valueOf(row.durationSeconds()), row.duration(),
+                        row.category(), row.activity(), row.comment()
+                );
+            }
+        }
+
+        private long seconds(Instant start, Instant end) {
+            return TimeMathUtil.diffSeconds(start, end != null ? end : nowUtc);
+        }
+
+        private void jsonLine(Object row) {
+            try {
+                out.write(jsonMapper.writeValueAsString(row));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void csvLine(String... fields) {
+            try {
+                for (int i = 0; i < fields.length; i++) {
+                    if (i > 0) out.write(',');
+                    out.write(csvField(fields[i]));
+                }
+                out.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Formula injection (OWASP "CSV Injection"): spreadsheets evaluate cells starting with these characters
+    private static boolean isFormulaTrigger(char c) {
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    // Neutralizes formula triggers with a leading apostrophe (always quoted), then RFC 4180: quote fields containing
+    // separators, quotes or line breaks; double embedded quotes
+    private static String csvField(String value) {
+        if (value == null || value.isEmpty()) return "";
+        boolean formula = isFormulaTrigger(value.charAt(0));
+        if (formula) value = "'" + value;
+        boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
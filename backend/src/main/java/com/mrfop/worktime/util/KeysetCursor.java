@@ -0,0 +1,75 @@
+package com.mrfop.worktime.util;
+
+import com.mrfop.worktime.exception.InvalidParameterException;
+import com.mrfop.worktime.exception.base.LookupField;
+import com.mrfop.worktime.exception.base.Subject;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Keyset position over rows ordered by {@code (start_time, id)}.
+ *
+ * <p>Cursors are exchanged with clients as opaque strings of the form {@code <epochMillis>_<id>}.
+ * Because both values are part of the sort key, a cursor is stable across inserts and deletes and
+ * lets the database seek directly into {@code idx_*_start} indexes instead of skipping rows with {@code OFFSET}.</p>
+ *
+ * @param startTime the {@code start_time} of the last row the client has seen (UTC)
+ * @param id        the {@code id} of the last row the client has seen (tie-breaker for equal start times)
+ */
+public record KeysetCursor(Instant startTime, Long id) {
+
+    private static final char SEPARATOR = '_';
+
+    public KeysetCursor {
+        Objects.requireNonNull(startTime, "startTime");
+        Objects.requireNonNull(id, "id");
+    }
+
+    /**
+     * Encodes this cursor into its wire representation.
+     */
+    public String encode() {
+        return startTime.toEpochMilli() + String.valueOf(SEPARATOR) + id;
+    }
+
+    /**
+     * Parses an optional cursor from the request.
+     *
+     * <h3>Behavior</h3>
+     * <ul>
+     *   <li>Returns {@code null} for {@code null} / blank input (start from the beginning).</li>
+     *   <li>Trims the input.</li>
+     *   <li>Throws {@link InvalidParameterException} if the value is not a cursor previously issued by the API.</li>
+     * </ul>
+     *
+     * @param raw     the raw cursor string (optional)
+     * @param subject the domain subject for error reporting
+     * @return parsed cursor, or {@code null} if none was supplied
+     * @throws InvalidParameterException if the value is malformed
+     */
+    public static KeysetCursor parseOptional(String raw, Subject subject) {
+        return parseOptional(raw, subject, LookupField.CURSOR);
+    }
+
+    /**
+     * Same as {@link #parseOptional(String, Subject)}, reporting errors against the given request parameter.
+     */
+    public static KeysetCursor parseOptional(String raw, Subject subject, LookupField field) {
+        if (raw == null || raw.isBlank()) return null;
+
+        String value = raw.trim();
+        int sep = value.indexOf(SEPARATOR);
+        if (sep <= 0 || sep == value.length() - 1) {
+            throw new InvalidParameterException(subject, field, raw);
+        }
+
+        try {
+            long millis = Long.parseLong(value.substring(0, sep));
+            long id = Long.parseLong(value.substring(sep + 1));
+            return new KeysetCursor(Instant.ofEpochMilli(millis), id);
+        } catch (NumberFormatException e) {
+            throw new InvalidParameterException(subject, field, raw, e);
+        }
+    }
+}
@@ -97,6 +97,27 @@ public final class ParsingUtil {
         }
     }
 
+    /**
+     * Parses an optional IANA time zone ID from the request.
+     *
+     * <h3>Behavior</h3>
+     * <ul>
+     *   <li>Returns {@code fallback} for {@code null} / blank input.</li>
+     *   <li>Otherwise behaves like {@link #parseZoneRequired(String, Subject, LookupField)}.</li>
+     * </ul>
+     *
+     * @param tz       the time zone ID (optional)
+     * @param fallback the zone to use if none was supplied
+     * @param subject  the domain subject for error reporting
+     * @param field    the request field identifier for error reporting
+     * @return parsed {@link ZoneId}, or {@code fallback}
+     * @throws InvalidParameterException if the value is present but not a valid time zone ID
+     */
+    public static ZoneId parseZoneOptional(String tz, ZoneId fallback, Subject subject, LookupField field) {
+        if (tz == null || tz.isBlank()) return fallback;
+        return parseZoneRequired(tz, subject, field);
+    }
+
     /**
      * Parses a required BCP-47 language tag from the request into a {@link Locale}.
      *
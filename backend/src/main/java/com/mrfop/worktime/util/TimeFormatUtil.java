@@ -58,15 +58,11 @@ public final class TimeFormatUtil {
     }
 
     /**
-     * Formats a {@link LocalDate} day marker (stored as UTC day) into a localized day label.
-     *
-     * <p>UI-aligned behavior: treat {@code dayUtc} as UTC midnight instant, then format in the
-     * requested {@link ZoneId}.</p>
+     * Formats a local {@link LocalDate} (already bucketed in the report zone) into a localized day label.
      */
-    public static String formatDayLabel(LocalDate dayUtc, DateTimeFormatter dayFmt) {
-        if (dayUtc == null) return "";
-        Instant utcMidnight = dayUtc.atStartOfDay(ZoneOffset.UTC).toInstant();
-        return dayFmt.format(utcMidnight);
+    public static String formatDayLabel(LocalDate day, DateTimeFormatter dayFmt) {
+        if (day == null) return "";
+        return dayFmt.format(day);
     }
 
     /**
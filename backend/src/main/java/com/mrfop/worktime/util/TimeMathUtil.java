@@ -35,4 +35,5 @@ public final class TimeMathUtil {
         long secs = Duration.between(start, end).getSeconds();
         return Math.max(0, secs);
     }
-}
\ No newline at end of file
+
+}
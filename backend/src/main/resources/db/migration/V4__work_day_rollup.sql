@@ -0,0 +1,33 @@
+-- Materialized daily rollup of tracked seconds
+--
+-- Design decisions:
+-- 1) One row per (UTC day, category, activity). The day is the UTC start date of the interval,
+--    matching the generated start_date columns used for day-grouping.
+-- 2) Work session totals are stored under the reserved key category_id = 0 / activity_id = 0
+--    (AUTO_INCREMENT ids start at 1, so 0 never collides with a real category/activity).
+-- 3) Only closed intervals contribute; running sessions/segments are added when they are stopped.
+-- 4) Maintained by the application in the same transaction as every session/segment write.
+--    Derived data only: no foreign keys, rebuildable at any time from work_session/work_segment.
+SET time_zone = '+00:00';
+
+CREATE TABLE IF NOT EXISTS work_day_rollup (
+    day_utc      DATE NOT NULL,
+    category_id  BIGINT NOT NULL,
+    activity_id  BIGINT NOT NULL,
+    seconds      BIGINT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (day_utc, category_id, activity_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Backfill from existing history
+INSERT INTO work_day_rollup (day_utc, category_id, activity_id, seconds)
+SELECT start_date, category_id, activity_id, SUM(TIMESTAMPDIFF(SECOND, start_time, end_time))
+FROM work_segment
+WHERE end_time IS NOT NULL
+GROUP BY start_date, category_id, activity_id;
+
+INSERT INTO work_day_rollup (day_utc, category_id, activity_id, seconds)
+SELECT start_date, 0, 0, SUM(TIMESTAMPDIFF(SECOND, start_time, end_time))
+FROM work_session
+WHERE end_time IS NOT NULL
+GROUP BY start_date;
@@ -0,0 +1,10 @@
+-- Global keyset pagination of work segments
+--
+-- Design decisions:
+-- 1) Segment lists are paged newest first by (start_time, id). idx_work_segment_session_start leads with
+--    work_session_id and cannot serve a global ORDER BY start_time, so a plain start_time index is added.
+-- 2) InnoDB appends the primary key to every secondary index, so this index is (start_time, id) and serves the
+--    id tie-breaker of the keyset cursor as well (mirrors idx_work_session_start).
+SET time_zone = '+00:00';
+
+CREATE INDEX idx_work_segment_start ON work_segment (start_time);
@@ -0,0 +1,28 @@
+package com.mrfop.worktime;
+
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mariadb.MariaDBContainer;
+import org.testcontainers.utility.MountableFile;
+
+/**
+ * Base class of tests that need the real MariaDB schema (generated columns, triggers, index choice).
+ *
+ * <p>One container per test JVM, started on first use and shared by all subclasses, so cached Spring contexts keep a
+ * valid connection. The migrations in {@code db/migration} run through the image's init scripts, like a fresh
+ * deployment (the {@code DELIMITER} blocks need the MariaDB client). Skipped when Docker is not available.</p>
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class MariaDbTestBase {
+
+    @ServiceConnection
+    protected static final MariaDBContainer MARIADB = new MariaDBContainer("mariadb:11.4")
+            .withUrlParam("connectionTimeZone", "UTC")
+            .withUrlParam("forceConnectionTimeZoneToSession", "true")
+            .withCopyFileToContainer(
+                    MountableFile.forClasspathResource("db/migration/"), "/docker-entrypoint-initdb.d/");
+
+    static {
+        MARIADB.start();
+    }
+}
@@ -0,0 +1,46 @@
+package com.mrfop.worktime.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryCountInspectorTest {
+
+    private final QueryCountInspector inspector = new QueryCountInspector();
+
+    @AfterEach
+    void stop() {
+        QueryCountInspector.stop();
+    }
+
+    @Test
+    void enforcedBudgetFailsTheStatementThatExceedsIt() {
+        QueryCountInspector.start("Test#endpoint", 2, true);
+
+        assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+        assertThat(inspector.inspect("select 2")).isEqualTo("select 2");
+        assertThatThrownBy(() -> inspector.inspect("select 3"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Query budget of 2 exceeded by Test#endpoint at statement 3");
+
+        assertThat(QueryCountInspector.stop()).isEqualTo(3);
+    }
+
+    @Test
+    void reportingBudgetOnlyCounts() {
+        QueryCountInspector.start("Test#endpoint", 1, false);
+
+        inspector.inspect("select 1");
+        inspector.inspect("select 2");
+
+        assertThat(QueryCountInspector.stop()).isEqualTo(2);
+    }
+
+    @Test
+    void statementsOutsideATrackedRequestAreNotCounted() {
+        assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+        assertThat(QueryCountInspector.stop()).isEqualTo(-1);
+    }
+}
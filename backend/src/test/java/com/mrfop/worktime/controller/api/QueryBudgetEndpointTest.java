@@ -0,0 +1,181 @@
+package com.mrfop.worktime.controller.api;
+
+import com.mrfop.worktime.MariaDbTestBase;
+import com.mrfop.worktime.config.QueryBudget;
+import com.mrfop.worktime.repository.WorkSessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read endpoints stay within their {@link QueryBudget} on cold caches, with {@code worktime.query-budget.enforce=true}
+ * (an overrun fails the request, as in CI).
+ *
+ * <p>The data has several sessions with segments per day, so lazy associations touched while mapping (N+1) would
+ * issue more statements than any budget allows.</p>
+ */
+@SpringBootTest(properties = {
+        "worktime.query-budget.enforce=true",
+        "worktime.warmup.enabled=false"
+})
+@AutoConfigureMockMvc
+@Import(QueryBudgetEndpointTest.OverBudgetController.class)
+class QueryBudgetEndpointTest extends MariaDbTestBase {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void seed() {
+        // Three days with two sessions of two segments each (category/activity 1 from the seed migrations)
+        long sessionId = 1;
+        for (int day = 10; day <= 12; day++) {
+            for (int hour : new int[] { 8, 13 }) {
+                String date = "2025-03-" + day;
+                jdbc.update("""
+                        INSERT INTO work_session (id, start_time, end_time, created_at, updated_at)
+                        VALUES (?, ?, ?, UTC_TIMESTAMP(3), UTC_TIMESTAMP(3))
+                        """, sessionId, at(date, hour, 0), at(date, hour + 4, 0));
+                jdbc.update("""
+                        INSERT INTO work_segment (work_session_id, category_id, activity_id, start_time, end_time,
+                                                  comment, created_at, updated_at)
+                        VALUES (?, 1, 1, ?, ?, 'first', UTC_TIMESTAMP(3), UTC_TIMESTAMP(3)),
+                               (?, 1, 1, ?, ?, 'second', UTC_TIMESTAMP(3), UTC_TIMESTAMP(3))
+                        """, sessionId, at(date, hour, 0), at(date, hour + 2, 0),
+                        sessionId, at(date, hour + 2, 0), at(date, hour + 4, 0));
+                sessionId++;
+            }
+        }
+
+        // Cold caches: every request below has to hit the database
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+    }
+
+    // Committed rows would leak into the other tests sharing the container
+    @AfterEach
+    void clear() {
+        jdbc.update("DELETE FROM work_segment");
+        jdbc.update("DELETE FROM work_session");
+    }
+
+    @Test
+    void dayReportStaysWithinBudget() throws Exception {
+        mvc.perform(get("/api/v1/reports/days")
+                        .param("from", "2025-03-10T00:00:00Z")
+                        .param("to", "2025-03-13T00:00:00Z")
+                        .param("tz", "Europe/Berlin"))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/v1/reports/days")
+                        .param("from", "2025-03-10T00:00:00Z")
+                        .param("to", "2025-03-13T00:00:00Z")
+                        .param("segments", "false"))
+                .andExpect(status().isOk());
+
+        assertWithinBudget("WorkReportController#getDays", 3);
+    }
+
+    @Test
+    void recentSessionsStayWithinBudget() throws Exception {
+        mvc.perform(get("/api/v1/reports/sessions/recent").param("limit", "5"))
+                .andExpect(status().isOk());
+
+        assertWithinBudget("WorkReportController#getRecentSessions", 2);
+    }
+
+    @Test
+    void sessionPagesStayWithinBudget() throws Exception {
+        String cursor = mvc.perform(get("/api/v1/worksessions").param("limit", "4"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(WorkSessionController.NEXT_CURSOR_HEADER))
+                .andReturn().getResponse().getHeader(WorkSessionController.NEXT_CURSOR_HEADER);
+        mvc.perform(get("/api/v1/worksessions").param("limit", "4").param("before", cursor))
+                .andExpect(status().isOk());
+
+        assertWithinBudget("WorkSessionController#list", 1);
+    }
+
+    @Test
+    void segmentPagesStayWithinBudget() throws Exception {
+        String cursor = mvc.perform(get("/api/v1/worksegments").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(WorkSegmentController.NEXT_CURSOR_HEADER))
+                .andReturn().getResponse().getHeader(WorkSegmentController.NEXT_CURSOR_HEADER);
+        mvc.perform(get("/api/v1/worksegments").param("limit", "5").param("before", cursor))
+                .andExpect(status().isOk());
+
+        assertWithinBudget("WorkSegmentController#list", 1);
+    }
+
+    @Test
+    void exceedingTheBudgetFailsTheRequest() throws Exception {
+        mvc.perform(get("/api/test/over-budget"))
+                .andExpect(status().isInternalServerError());
+
+        Counter exceeded = meterRegistry.find("worktime.db.query_budget.exceeded")
+                .tag("endpoint", "OverBudgetController#twoQueries")
+                .counter();
+        assertThat(exceeded).isNotNull();
+        assertThat(exceeded.count()).isEqualTo(1);
+    }
+
+    /* ------------------------- HELPERS ------------------------- */
+
+    private void assertWithinBudget(String endpoint, int budget) {
+        DistributionSummary queries = meterRegistry.find("worktime.db.queries").tag("endpoint", endpoint).summary();
+        assertThat(queries).as("statements recorded for %s", endpoint).isNotNull();
+        assertThat(queries.max()).as("statements per request of %s", endpoint).isPositive().isLessThanOrEqualTo(budget);
+    }
+
+    private static String at(String date, int hour, int minute) {
+        return "%s %02d:%02d:00.000".formatted(date, hour, minute);
+    }
+
+    /**
+     * Issues two statements against a budget of one.
+     */
+    @RestController
+    static class OverBudgetController {
+
+        private final WorkSessionRepository repository;
+
+        OverBudgetController(WorkSessionRepository repository) {
+            this.repository = repository;
+        }
+
+        @GetMapping("/api/test/over-budget")
+        @QueryBudget(1)
+        ResponseEntity<Long> twoQueries() {
+            repository.count();
+            return ResponseEntity.ok(repository.count());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.mrfop.worktime.persistence;
+
+import com.mrfop.worktime.MariaDbTestBase;
+import com.mrfop.worktime.model.entity.WorkSessionEntity;
+import com.mrfop.worktime.model.mapper.WorkSegmentMapper;
+import com.mrfop.worktime.model.response.WorkSessionWithSegmentsResponse;
+import com.mrfop.worktime.repository.WorkSessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.cache.autoconfigure.CacheAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Report row loading: the flat {@code WorkReportRow} projections of {@link WorkReportPersistence} against the
+ * {@code @EntityGraph} queries of {@link WorkSessionRepository} (managed entities mapped to the same responses), on
+ * 90 days with three sessions of four segments each.
+ *
+ * <p>Opt-in, it measures wall time: {@code mvn test -Dtest=WorkReportRowsBenchmarkTest -Dbenchmark=true}. Both
+ * variants run interleaved after a warm-up with an empty persistence context per call; medians and p90 are printed.</p>
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(CacheAutoConfiguration.class) // @EnableCaching on the application needs a CacheManager
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class WorkReportRowsBenchmarkTest extends MariaDbTestBase {
+
+    private static final int WARMUP_ROUNDS = 30;
+    private static final int MEASURED_ROUNDS = 100;
+
+    private static final LocalDate FIRST_DAY = LocalDate.parse("2025-01-01");
+    private static final int DAYS = 90;
+    private static final int[] SESSION_HOURS = { 6, 11, 16 };
+    private static final int SEGMENTS_PER_SESSION = 4;
+
+    @Autowired
+    private WorkSessionRepository repository;
+
+    @Autowired
+    private EntityManager em;
+
+    private final WorkSegmentMapper segmentMapper = new WorkSegmentMapper();
+
+    private WorkReportPersistence persistence;
+
+    @BeforeEach
+    void seed() {
+        persistence = new WorkReportPersistence(repository, segmentMapper, new SimpleMeterRegistry());
+
+        // Rolled back after each test (@DataJpaTest is transactional); category/activity 1 come from the seed migrations
+        List<String> sessions = new ArrayList<>();
+        List<String> segments = new ArrayList<>();
+        long id = 1;
+        for (int d = 0; d < DAYS; d++) {
+            LocalDate day = FIRST_DAY.plusDays(d);
+            for (int hour : SESSION_HOURS) {
+                sessions.add("(%d, '%s %02d:00:00', '%s %02d:00:00', UTC_TIMESTAMP(3), UTC_TIMESTAMP(3))"
+                        .formatted(id, day, hour, day, hour + SEGMENTS_PER_SESSION));
+                for (int s = 0; s < SEGMENTS_PER_SESSION; s++) {
+                    segments.add("(%d, 1, 1, '%s %02d:00:00', '%s %02d:00:00', 'Segment %d', UTC_TIMESTAMP(3), UTC_TIMESTAMP(3))"
+                            .formatted(id, day, hour + s, day, hour + s + 1, s));
+                }
+                id++;
+            }
+        }
+        em.createNativeQuery("INSERT INTO work_session (id, start_time, end_time, created_at, updated_at) VALUES "
+                + String.join(", ", sessions)).executeUpdate();
+        em.createNativeQuery("""
+                INSERT INTO work_segment (work_session_id, category_id, activity_id, start_time, end_time, comment,
+                                          created_at, updated_at) VALUES
+                """ + String.join(", ", segments)).executeUpdate();
+    }
+
+    @Test
+    void projectionAgainstEntityGraphByStartDays() {
+        List<LocalDate> days = IntStream.range(0, DAYS).mapToObj(FIRST_DAY::plusDays).toList();
+
+        compare("by start days",
+                () -> persistence.findByStartDays(days),
+                () -> toResponses(repository.findAllWithSegmentsByStartDateIn(days)));
+    }
+
+    @Test
+    void projectionAgainstEntityGraphByIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 200).boxed().toList();
+
+        compare("by ids",
+                () -> persistence.findByIds(ids),
+                () -> toResponses(repository.findAllWithSegmentsByIdIn(ids)));
+    }
+
+    /* ------------------------- HELPERS ------------------------- */
+
+    private void compare(String name,
+                         Supplier<List<WorkSessionWithSegmentsResponse>> projection,
+                         Supplier<List<WorkSessionWithSegmentsResponse>> entityGraph) {
+        // Same responses, so only the loading differs
+        assertThat(run(projection)).isEqualTo(run(entityGraph));
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(entityGraph);
+            run(projection);
+        }
+
+        long[] entityGraphNanos = new long[MEASURED_ROUNDS];
+        long[] projectionNanos = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            run(entityGraph);
+            entityGraphNanos[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            run(projection);
+            projectionNanos[i] = System.nanoTime() - start;
+        }
+
+        System.out.printf("Report rows %s: entity graph %s; projection %s%n",
+                name, summary(entityGraphNanos), summary(projectionNanos));
+    }
+
+    // Every call starts with an empty persistence context, like a request
+    private List<WorkSessionWithSegmentsResponse> run(Supplier<List<WorkSessionWithSegmentsResponse>> load) {
+        em.clear();
+        return load.get();
+    }
+
+    private List<WorkSessionWithSegmentsResponse> toResponses(List<WorkSessionEntity> sessions) {
+        return sessions.stream()
+                .map(ws -> new WorkSessionWithSegmentsResponse(
+                        ws.getId(),
+                        ws.getStartTime(),
+                        ws.getEndTime(),
+                        ws.getSegments().stream().map(segmentMapper::toResponse).toList()
+                ))
+                .toList();
+    }
+
+    private static String summary(long[] nanos) {
+        return "median %.2f ms, p90 %.2f ms".formatted(percentile(nanos, 50) / 1e6, percentile(nanos, 90) / 1e6);
+    }
+
+    private static long percentile(long[] nanos, int percent) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percent / 100)];
+    }
+}
@@ -0,0 +1,250 @@
+package com.mrfop.worktime.repository;
+
+import com.mrfop.worktime.MariaDbTestBase;
+import com.mrfop.worktime.model.entity.WorkSessionEntity;
+import com.mrfop.worktime.model.projection.WorkSessionSummaryRow;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.cache.autoconfigure.CacheAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Overlap predicate shared by the report queries of {@link WorkSessionRepository}:
+ * {@code startTime < :to and (endTime > :from or (endTime is null and :now > :from))}.
+ *
+ * <p>Both bounds are exclusive: a session ending exactly at {@code from} or starting exactly at {@code to} does not
+ * overlap {@code [from, to)}; a running session ends at {@code now}. The plan test pins the reason for the
+ * {@code or} form: {@code EXPLAIN} of the statements the repository actually sends must stay a range scan of
+ * {@code idx_work_session_end}; with {@code coalesce(end_time, :now)} only {@code start_time < :to} remains indexable.</p>
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(CacheAutoConfiguration.class) // @EnableCaching on the application needs a CacheManager
+@Import(WorkSessionRepositoryOverlapTest.CaptureStatements.class)
+class WorkSessionRepositoryOverlapTest extends MariaDbTestBase {
+
+    private static final Instant FROM = Instant.parse("2025-03-10T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-03-11T00:00:00Z");
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":(\\w+)");
+    private static final Pattern SESSION_ALIAS = Pattern.compile("(?i)from work_session (\\w+)");
+
+    @Autowired
+    private WorkSessionRepository repository;
+
+    @Autowired
+    private EntityManager em;
+
+    @BeforeEach
+    void seed() {
+        // Rolled back after each test (@DataJpaTest is transactional)
+        insert(1, "2025-03-09 08:00:00.000", "2025-03-09 12:00:00.000"); // before the range
+        insert(2, "2025-03-09 20:00:00.000", "2025-03-10 00:00:00.000"); // ends exactly at from
+        insert(3, "2025-03-09 22:00:00.000", "2025-03-10 00:00:00.001"); // ends just after from
+        insert(4, "2025-03-10 09:00:00.000", "2025-03-10 17:00:00.000"); // inside
+        insert(5, "2025-03-10 23:59:59.999", "2025-03-11 01:00:00.000"); // starts just before to
+        insert(6, "2025-03-11 00:00:00.000", "2025-03-11 02:00:00.000"); // starts exactly at to
+    }
+
+    @Test
+    void closedSessionsOverlapOnlyWithExclusiveBounds() {
+        Instant now = Instant.parse("2025-03-20T12:00:00Z");
+
+        assertThat(overlappingIds(now, FROM, TO)).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void runningSessionOverlapsWhenNowIsAfterFrom() {
+        insert(7, "2025-03-09 23:00:00.000", null);
+
+        assertThat(overlappingIds(Instant.parse("2025-03-10T12:00:00Z"), FROM, TO)).containsExactly(3L, 7L, 4L, 5L);
+        assertThat(overlappingIds(Instant.parse("2025-03-10T00:00:00.001Z"), FROM, TO)).contains(7L);
+    }
+
+    @Test
+    void runningSessionDoesNotOverlapWhenNowIsNotAfterFrom() {
+        insert(7, "2025-03-09 23:00:00.000", null);
+
+        assertThat(overlappingIds(FROM, FROM, TO)).doesNotContain(7L);
+        assertThat(overlappingIds(Instant.parse("2025-03-09T23:30:00Z"), FROM, TO)).doesNotContain(7L);
+    }
+
+    @Test
+    void runningSessionStartingAtToDoesNotOverlap() {
+        insert(7, "2025-03-11 00:00:00.000", null);
+
+        assertThat(overlappingIds(Instant.parse("2025-03-11T12:00:00Z"), FROM, TO)).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void openBoundsMatchEverythingOnThatSide() {
+        Instant now = Instant.parse("2025-03-20T12:00:00Z");
+
+        assertThat(overlappingIds(now, null, TO)).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(overlappingIds(now, FROM, null)).containsExactly(3L, 4L, 5L, 6L);
+        assertThat(overlappingIds(now, null, null)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    void allOverlapQueriesAgree() {
+        insert(7, "2025-03-09 23:00:00.000", null);
+        Instant now = Instant.parse("2025-03-10T12:00:00Z");
+
+        assertThat(repository.findOverlappingStartDates(now, FROM, TO))
+                .containsExactly(LocalDate.parse("2025-03-10"), LocalDate.parse("2025-03-09"));
+        assertThat(repository.findOverlappingSummaries(now, FROM, TO))
+                .extracting(WorkSessionSummaryRow::getId)
+                .containsExactly(5L, 4L, 7L, 3L);
+        assertThat(repository.findOverlappingWithSegments(now, FROM, TO))
+                .extracting(WorkSessionEntity::getId)
+                .containsExactly(5L, 4L, 7L, 3L);
+    }
+
+    @Test
+    void overlapQueriesRangeScanTheSessionIndexes() {
+        // Daily sessions over ~5.5 years; a one-week range near the end selects a few rows
+        LocalDate first = LocalDate.parse("2020-01-01");
+        String rows = IntStream.range(0, 2000)
+                .mapToObj(i -> "(%d, '%s 09:00:00', '%s 17:00:00', UTC_TIMESTAMP(3), UTC_TIMESTAMP(3))"
+                        .formatted(100 + i, first.plusDays(i), first.plusDays(i)))
+                .collect(Collectors.joining(", "));
+        em.createNativeQuery("INSERT INTO work_session (id, start_time, end_time, created_at, updated_at) VALUES " + rows)
+                .executeUpdate();
+
+        Instant now = Instant.parse("2025-05-10T12:00:00Z");
+        Instant from = Instant.parse("2025-05-01T00:00:00Z");
+        Instant to = Instant.parse("2025-05-08T00:00:00Z");
+        Map<String, Object> params = Map.of("nowUtc", now, "fromInclusive", from, "toExclusive", to);
+
+        assertRangeScan("findOverlappingWithSegments", params, () -> repository.findOverlappingWithSegments(now, from, to));
+        assertRangeScan("findOverlappingStartDates", params, () -> repository.findOverlappingStartDates(now, from, to));
+        assertRangeScan("findOverlappingSummaries", params, () -> repository.findOverlappingSummaries(now, from, to));
+        assertRangeScan("findOverlappingIdsAfter", params,
+                () -> repository.findOverlappingIdsAfter(now, from, to, null, null, Limit.of(200)));
+    }
+
+    /* ------------------------- HELPERS ------------------------- */
+
+    private List<Long> overlappingIds(Instant now, Instant from, Instant to) {
+        return repository.findOverlappingIdsAfter(now, from, to, null, null, Limit.of(100));
+    }
+
+    // Times are UTC literals; a null end inserts a running session
+    private void insert(long id, String start, String end) {
+        em.createNativeQuery("""
+                INSERT INTO work_session (id, start_time, end_time, created_at, updated_at)
+                VALUES (:id, :start, %s, UTC_TIMESTAMP(3), UTC_TIMESTAMP(3))
+                """.formatted(end == null ? "NULL" : "'" + end + "'"))
+                .setParameter("id", id)
+                .setParameter("start", start)
+                .executeUpdate();
+    }
+
+    // Calls the repository method, then EXPLAINs the statement it sent with the same values
+    private void assertRangeScan(String method, Map<String, Object> params, Runnable call) {
+        STATEMENTS.clear();
+        call.run();
+        assertThat(STATEMENTS).as("statements of %s", method).hasSize(1);
+        String sql = STATEMENTS.getFirst();
+
+        // Hibernate binds one "?" per :name occurrence of the @Query, in order; a trailing one is the Limit
+        List<Object> values = new ArrayList<>();
+        Matcher names = NAMED_PARAMETER.matcher(queryOf(method));
+        while (names.find()) values.add(params.get(names.group(1)));
+
+        Matcher alias = SESSION_ALIAS.matcher(sql);
+        assertThat(alias.find()).as("work_session in %s", sql).isTrue();
+
+        Map<String, Object> plan = explain(sql, values).stream()
+                .filter(row -> alias.group(1).equals(row.get("table")))
+                .findFirst()
+                .orElseThrow();
+        // coalesce() would leave only "start_time < to": a full scan, or a range over nearly every earlier session
+        assertThat(plan.get("type")).as("access type of %s: %s", method, plan).isEqualTo("range");
+        assertThat(plan.get("key")).as("index of %s: %s", method, plan).isEqualTo("idx_work_session_end");
+        assertThat(Long.parseLong(String.valueOf(plan.get("rows")))).as("estimated rows of %s: %s", method, plan).isLessThan(200);
+    }
+
+    private static String queryOf(String method) {
+        return Arrays.stream(WorkSessionRepository.class.getMethods())
+                .filter(m -> m.getName().equals(method))
+                .findFirst()
+                .map(m -> m.getAnnotation(Query.class).value())
+                .orElseThrow();
+    }
+
+    // EXPLAIN rows (column label -> value) on the connection of the test transaction, so the seeded rows count
+    private List<Map<String, Object>> explain(String sql, List<Object> values) {
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql)) {
+                int placeholders = (int) sql.chars().filter(c -> c == '?').count();
+                for (int i = 0; i < placeholders; i++) {
+                    Object value = i < values.size() ? values.get(i) : 200;
+                    ps.setObject(i + 1, value instanceof Instant instant
+                            ? LocalDateTime.ofInstant(instant, ZoneOffset.UTC)
+                            : value);
+                }
+
+                List<Map<String, Object>> rows = new ArrayList<>();
+                try (ResultSet rs = ps.executeQuery()) {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    while (rs.next()) {
+                        Map<String, Object> row = new HashMap<>();
+                        for (int c = 1; c <= meta.getColumnCount(); c++) row.put(meta.getColumnLabel(c), rs.getObject(c));
+                        rows.add(row);
+                    }
+                }
+                return rows;
+            }
+        });
+    }
+
+    /**
+     * Records the SQL of every statement Hibernate prepares.
+     */
+    @TestConfiguration
+    static class CaptureStatements {
+
+        @Bean
+        HibernatePropertiesCustomizer captureStatementsCustomizer() {
+            return props -> props.put(JdbcSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            });
+        }
+    }
+}
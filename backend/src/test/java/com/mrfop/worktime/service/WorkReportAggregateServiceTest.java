@@ -0,0 +1,98 @@
+package com.mrfop.worktime.service;
+
+import com.mrfop.worktime.MariaDbTestBase;
+import com.mrfop.worktime.model.enums.ReportBucket;
+import com.mrfop.worktime.model.request.WorkReportAggregateRequest;
+import com.mrfop.worktime.model.response.WorkAggregateResponse;
+import com.mrfop.worktime.persistence.WorkAggregatePersistence;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.cache.autoconfigure.CacheAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Local buckets of {@link WorkReportAggregateService} across a DST transition, computed without the MariaDB time zone
+ * tables (the test container has none loaded).
+ *
+ * <p>Europe/Berlin switches from +01:00 to +02:00 at 2025-03-30T01:00Z. Each segment lands on a different local day
+ * than a single fixed offset for the whole range would give it.</p>
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(CacheAutoConfiguration.class) // @EnableCaching on the application needs a CacheManager
+@Import({ WorkReportAggregateService.class, WorkAggregatePersistence.class })
+class WorkReportAggregateServiceTest extends MariaDbTestBase {
+
+    // Local 2025-03-29 00:00 to 2025-04-01 00:00 in Europe/Berlin
+    private static final Instant FROM = Instant.parse("2025-03-28T23:00:00Z");
+    private static final Instant TO = Instant.parse("2025-03-31T22:00:00Z");
+
+    @Autowired
+    private WorkReportAggregateService service;
+
+    @Autowired
+    private EntityManager em;
+
+    @BeforeEach
+    void seed() {
+        // Rolled back after each test (@DataJpaTest is transactional); category/activity 1 come from the seed migrations
+        em.createNativeQuery("""
+                INSERT INTO work_session (id, start_time, end_time, created_at, updated_at)
+                VALUES (1, '2025-03-29 22:00:00.000', '2025-03-30 23:30:00.000', UTC_TIMESTAMP(3), UTC_TIMESTAMP(3))
+                """).executeUpdate();
+        segment("2025-03-29 22:30:00.000", "2025-03-29 22:45:00.000"); // 23:30 +01:00 on the 29th (not the 30th)
+        segment("2025-03-29 23:30:00.000", "2025-03-30 00:30:00.000"); // 00:30 +01:00 on the 30th
+        segment("2025-03-30 21:30:00.000", "2025-03-30 22:00:00.000"); // 23:30 +02:00 on the 30th
+        segment("2025-03-30 22:30:00.000", "2025-03-30 23:00:00.000"); // 00:30 +02:00 on the 31st (not the 30th)
+    }
+
+    @Test
+    void namedZoneSplitsAtTheOffsetTransition() {
+        WorkAggregateResponse result = service.aggregate(request("Europe/Berlin", ReportBucket.DAY));
+
+        assertThat(result.buckets()).containsExactly(
+                LocalDate.parse("2025-03-29"), LocalDate.parse("2025-03-30"), LocalDate.parse("2025-03-31"));
+        assertThat(result.bucketTotals()).containsExactly(900, 3600 + 1800, 1800);
+        assertThat(result.totalSeconds()).isEqualTo(900 + 3600 + 1800 + 1800);
+    }
+
+    @Test
+    void weeksUseTheLocalStartDay() {
+        // The segment at 2025-03-30T22:30Z starts on Monday the 31st in Berlin (next ISO week), still Sunday in UTC
+        WorkAggregateResponse berlin = service.aggregate(request("Europe/Berlin", ReportBucket.WEEK));
+        WorkAggregateResponse utc = service.aggregate(request(null, ReportBucket.WEEK));
+
+        assertThat(berlin.buckets()).containsExactly(LocalDate.parse("2025-03-24"), LocalDate.parse("2025-03-31"));
+        assertThat(berlin.bucketTotals()).containsExactly(900 + 3600 + 1800, 1800);
+        assertThat(utc.buckets()).containsExactly(LocalDate.parse("2025-03-24"), LocalDate.parse("2025-03-31"));
+        assertThat(utc.bucketTotals()).containsExactly(900 + 3600 + 1800 + 1800, 0);
+    }
+
+    /* ------------------------- HELPERS ------------------------- */
+
+    private static WorkReportAggregateRequest request(String tz, ReportBucket bucket) {
+        return new WorkReportAggregateRequest(FROM, TO, tz, bucket, null, null, null);
+    }
+
+    // Times are UTC literals
+    private void segment(String start, String end) {
+        em.createNativeQuery("""
+                INSERT INTO work_segment (work_session_id, category_id, activity_id, start_time, end_time,
+                                          created_at, updated_at)
+                VALUES (1, 1, 1, :start, :end, UTC_TIMESTAMP(3), UTC_TIMESTAMP(3))
+                """)
+                .setParameter("start", start)
+                .setParameter("end", end)
+                .executeUpdate();
+    }
+}
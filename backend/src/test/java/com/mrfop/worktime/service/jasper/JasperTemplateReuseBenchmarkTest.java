@@ -0,0 +1,133 @@
+package com.mrfop.worktime.service.jasper;
+
+import com.mrfop.worktime.config.ReportProperties;
+import com.mrfop.worktime.model.enums.ReportFormat;
+import com.mrfop.worktime.model.response.WorkDayResponse;
+import com.mrfop.worktime.model.response.WorkDaySessionResponse;
+import com.mrfop.worktime.model.response.WorkSegmentResponse;
+import com.mrfop.worktime.service.jasper.model.DayPdf;
+import com.mrfop.worktime.service.jasper.model.WorkReportPdf;
+import com.mrfop.worktime.service.jasper.model.mapper.WorkReportPdfMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Export latency with and without template reuse: a PDF of one month (two sessions with three segments per day),
+ * filled and exported either by a renderer whose {@link JasperTemplateRegistry} is created per export (deserializes
+ * the four {@code .jasper} files every time, as before the registry) or by one shared renderer.
+ *
+ * <p>Opt-in, it measures wall time: {@code mvn test -Dtest=JasperTemplateReuseBenchmarkTest -Dbenchmark=true}.
+ * Both variants run interleaved after a warm-up; medians and p90 are printed.</p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JasperTemplateReuseBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 30;
+    private static final int MEASURED_ROUNDS = 100;
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+    private static final Locale LOCALE = Locale.GERMANY;
+
+    private final ReportProperties properties = new ReportProperties(
+            new ReportProperties.Jasper(null, Duration.ofSeconds(2), null, 50, 31, Duration.ofMinutes(2), 4),
+            2000
+    );
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+    private final WorkReportPdfMapper mapper = new WorkReportPdfMapper();
+
+    @Test
+    void sharedTemplatesSkipTheDeserializationOfEveryExport() {
+        LocalDate last = LocalDate.parse("2025-03-31");
+        LocalDate first = last.minusDays(30);
+        WorkReportPdf header = mapper.toPdfHeader(
+                first.atStartOfDay(ZONE).toInstant(), last.plusDays(1).atStartOfDay(ZONE).toInstant(), ZONE, LOCALE);
+        List<DayPdf> days = mapper.toDayPdfs(month(first, last), ZONE, LOCALE, true);
+
+        JasperRenderer shared = new JasperRenderer(registry(), properties, meterRegistry);
+        Supplier<JasperRenderer> perExport = () -> new JasperRenderer(registry(), properties, meterRegistry);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            export(perExport.get(), header, days);
+            export(shared, header, days);
+        }
+
+        long[] perExportNanos = new long[MEASURED_ROUNDS];
+        long[] sharedNanos = new long[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            export(perExport.get(), header, days);
+            perExportNanos[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            export(shared, header, days);
+            sharedNanos[i] = System.nanoTime() - start;
+        }
+
+        System.out.printf("PDF export, %d days: templates per export %s; shared templates %s%n",
+                days.size(), summary(perExportNanos), summary(sharedNanos));
+        assertThat(percentile(sharedNanos, 50)).isLessThan(percentile(perExportNanos, 50));
+    }
+
+    /* ------------------------- HELPERS ------------------------- */
+
+    private JasperTemplateRegistry registry() {
+        return new JasperTemplateRegistry(resourceLoader, properties, meterRegistry);
+    }
+
+    private static void export(JasperRenderer renderer, WorkReportPdf header, List<DayPdf> days) {
+        try (FilledReport report = renderer.fill(header, new JRBeanCollectionDataSource(days))) {
+            renderer.export(report, ReportFormat.PDF, OutputStream.nullOutputStream());
+        }
+    }
+
+    // Two sessions (08:00-12:00, 13:00-17:00) with three segments each per day, newest first
+    private static List<WorkDayResponse> month(LocalDate first, LocalDate last) {
+        List<WorkDayResponse> days = new ArrayList<>();
+        long id = 0;
+        for (LocalDate day = last; !day.isBefore(first); day = day.minusDays(1)) {
+            List<WorkDaySessionResponse> sessions = new ArrayList<>();
+            for (int hour : new int[] { 8, 13 }) {
+                Instant start = day.atTime(hour, 0).atZone(ZONE).toInstant();
+                List<WorkSegmentResponse> segments = new ArrayList<>();
+                for (int s = 0; s < 3; s++) {
+                    Instant segmentStart = start.plus(80L * s, ChronoUnit.MINUTES);
+                    segments.add(new WorkSegmentResponse(++id, id, 1L, "Development", 1L, "Coding",
+                            segmentStart, segmentStart.plus(80, ChronoUnit.MINUTES), "Segment " + s, start, start));
+                }
+                sessions.add(new WorkDaySessionResponse(id, start, start.plus(4, ChronoUnit.HOURS),
+                        14_400, 14_400, 0, segments));
+            }
+            days.add(new WorkDayResponse(day, ZONE.getId(), 28_800, 28_800, 0, sessions));
+        }
+        return days;
+    }
+
+    private static String summary(long[] nanos) {
+        return "median %.2f ms, p90 %.2f ms".formatted(percentile(nanos, 50) / 1e6, percentile(nanos, 90) / 1e6);
+    }
+
+    private static long percentile(long[] nanos, int percent) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percent / 100)];
+    }
+}
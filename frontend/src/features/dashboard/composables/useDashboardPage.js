@@ -1,14 +1,14 @@
 // src/pages/dashboard/useDashboardPage.js
-import { computed, onActivated, onMounted, ref } from 'vue';
+import { computed, onActivated, onMounted, ref, watch } from 'vue';
 
 import { ApiError } from '@/shared/api/api-error';
 import {
   nowLocalFormatted,
   nowUtcIso,
   calcDurationDisplay,
-  computeLocalDayRangeUtc,
 } from '@/shared/utils/date';
 import { useLiveTicker } from '@/shared/utils/useLiveTicker';
+import { useLiveEvents } from '@/shared/utils/useLiveEvents';
 
 export function useDashboardPage({
   toast,
@@ -60,8 +60,11 @@ export function useDashboardPage({
     () => !!(currentSegment.value && !currentSegment.value.endTime),
   );
 
+  // Backend caps the limit at 200
+  const rowsCount = computed(() => Math.min(200, Math.max(1, Number(daysCount.value) || 10)));
+
   const recentSessions = computed(() => {
-    const n = Math.max(1, Number(daysCount.value) || 10);
+    const n = rowsCount.value;
 
     const all = Array.isArray(sessions.value) ? sessions.value : [];
     const finished = all.filter((s) => s?.endTime);
@@ -112,21 +115,13 @@ export function useDashboardPage({
     activities.value = Array.isArray(acts) ? acts : [];
   }
 
-  function computeDashboardRangeUtc() {
-    return computeLocalDayRangeUtc({ daysBack: 90, daysForward: 0 });
-  }
-
-  async function loadSessionsFromReports() {
-    const { from, to } = computeDashboardRangeUtc();
-    const days = await workReportsApi.days({ from, to });
-    const daysArr = Array.isArray(days) ? days : [];
+  // Latest N sessions with server-side totals; the running session (if any) is the newest row
+  async function loadRecentSessions() {
+    const rows = await workReportsApi.recentSessions({ limit: rowsCount.value });
+    const list = Array.isArray(rows) ? rows : [];
 
-    const flat = daysArr.flatMap((d) =>
-      (Array.isArray(d?.sessions) ? d.sessions : []),
-    );
-
-    sessions.value = flat;
-    currentSession.value = flat.find((s) => s && !s.endTime) || null;
+    sessions.value = list;
+    currentSession.value = list.find((s) => s && !s.endTime) || null;
   }
 
   async function loadCurrentSegment() {
@@ -139,7 +134,7 @@ export function useDashboardPage({
   async function refreshDashboard({ swallowErrors = false } = {}) {
     try {
       await Promise.all([
-        loadSessionsFromReports(),
+        loadRecentSessions(),
         loadSelectData(),
         loadCurrentSegment(),
       ]);
@@ -201,7 +196,7 @@ export function useDashboardPage({
       await workSegmentsApi.start({ categoryId: cId, activityId: aId, comment: msg || null });
       toast.success('Segment started');
       await loadCurrentSegment();
-      await loadSessionsFromReports();
+      await loadRecentSessions();
     } catch (e) {
       console.error(e);
       toast.danger(`Error: ${e instanceof ApiError ? e.message : 'Failed to start segment'}`);
@@ -219,20 +214,63 @@ export function useDashboardPage({
       await workSegmentsApi.stop({ categoryId: cId, activityId: aId, comment: msg || null });
       toast.success('Segment stopped');
       await loadCurrentSegment();
-      await loadSessionsFromReports();
+      await loadRecentSessions();
     } catch (e) {
       console.error(e);
       toast.danger(`Error: ${e instanceof ApiError ? e.message : 'Failed to stop segment'}`);
     }
   }
 
+  // ---------- Live events (other tabs / devices) ----------
+  let sessionsReloadTimer = null;
+
+  // Several events usually arrive together (e.g. stop segment + stop day); reload the report once
+  function scheduleSessionsReload() {
+    clearTimeout(sessionsReloadTimer);
+    sessionsReloadTimer = setTimeout(() => {
+      loadRecentSessions().catch((e) => console.error(e));
+    }, 250);
+  }
+
+  function onSegmentEvent(change) {
+    const before = change?.before;
+    const after = change?.after;
+
+    if (after && !after.endTime) {
+      currentSegment.value = after;
+      applySegmentFormForRunningSegment(after);
+    } else if (before && !before.endTime) {
+      currentSegment.value = null;
+      resetSegmentForm();
+    }
+    scheduleSessionsReload();
+  }
+
+  function onSessionEvent(change) {
+    // Deleting a session also deletes its segments (no segment events)
+    if (change?.type === 'DELETED' && change.before && !change.before.endTime) {
+      currentSegment.value = null;
+      resetSegmentForm();
+    }
+    scheduleSessionsReload();
+  }
+
+  const { connected: liveConnected } = useLiveEvents({
+    workSession: onSessionEvent,
+    workSegment: onSegmentEvent,
+    resync: () => refreshDashboard({ swallowErrors: true }),
+  });
+
+  watch(rowsCount, scheduleSessionsReload);
+
   // ---------- Lifecycle ----------
   onMounted(async () => {
     await loadDashboard();
   });
 
   onActivated(() => {
-    refreshDashboard({ swallowErrors: true });
+    // Live events keep the state current; reload only if the stream is down
+    if (!liveConnected.value) refreshDashboard({ swallowErrors: true });
   });
 
   return {
@@ -1,34 +1,37 @@
 // src/pages/report/composables/useReportDurations.js
 import { diffSeconds } from '@/shared/utils/date';
 
-export function useReportDurations({ nowTickUtc }) {
-  function sessionEndIso(session) {
-    return session?.endTime || nowTickUtc.value;
+// Second counts come from the server (clipped to the local day, running intervals measured until load time).
+// Only the time elapsed since the load is added here, and only to the newest day slice of a running interval.
+export function useReportDurations({ nowTickUtc, loadedAtUtc }) {
+  function liveExtraSeconds() {
+    return diffSeconds(loadedAtUtc.value, nowTickUtc.value);
   }
 
-  function sessionSeconds(session) {
-    return diffSeconds(session?.startTime, sessionEndIso(session));
+  function hasRunningSegment(session) {
+    return (Array.isArray(session?.items) ? session.items : []).some((seg) => !seg?.endTime);
   }
 
-  function segmentSeconds(seg) {
-    return diffSeconds(seg?.startTime, seg?.endTime || nowTickUtc.value);
+  function sessionSeconds(session, live) {
+    const base = session?.durationSeconds || 0;
+    return live && !session?.endTime ? base + liveExtraSeconds() : base;
+  }
+
+  function sumSegmentSeconds(session, live) {
+    const base = session?.segmentSeconds || 0;
+    return live && hasRunningSegment(session) ? base + liveExtraSeconds() : base;
   }
 
-  function sumSegmentSeconds(items) {
-    return (Array.isArray(items) ? items : []).reduce(
-      (sum, seg) => sum + segmentSeconds(seg),
-      0,
-    );
+  function unallocatedSeconds(session, live) {
+    return Math.max(0, sessionSeconds(session, live) - sumSegmentSeconds(session, live));
   }
 
-  function unallocatedSeconds(session) {
-    const total = sessionSeconds(session);
-    const segSum = sumSegmentSeconds(session?.items);
-    return Math.max(0, total - segSum);
+  // Single segment row: full (unclipped) duration, running segments tick live
+  function segmentSeconds(seg) {
+    return diffSeconds(seg?.startTime, seg?.endTime || nowTickUtc.value);
   }
 
   return {
-    sessionEndIso,
     sessionSeconds,
     segmentSeconds,
     sumSegmentSeconds,
@@ -1,17 +1,21 @@
 // src/pages/report/composables/useReportLoader.js
 import { ref } from 'vue';
+import { LOCAL_TZ, nowUtcIso } from '@/shared/utils/date';
 
 export function useReportLoader({ toast, workReportsApi, fromUtc, toUtc }) {
   const loading = ref(false);
   const error = ref('');
   const daysRaw = ref([]);
+  const loadedAtUtc = ref(nowUtcIso());
 
   async function loadReport() {
     loading.value = true;
     error.value = '';
 
     try {
-      const days = await workReportsApi.days({ from: fromUtc.value, to: toUtc.value });
+      // Server buckets into local days and computes all totals (running intervals until now)
+      const days = await workReportsApi.days({ from: fromUtc.value, to: toUtc.value, tz: LOCAL_TZ });
+      loadedAtUtc.value = nowUtcIso();
       daysRaw.value = Array.isArray(days) ? days : [];
     } catch (e) {
       console.error(e);
@@ -23,5 +27,5 @@ export function useReportLoader({ toast, workReportsApi, fromUtc, toUtc }) {
     }
   }
 
-  return { loading, error, daysRaw, loadReport };
+  return { loading, error, daysRaw, loadedAtUtc, loadReport };
 }
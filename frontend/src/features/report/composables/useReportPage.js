@@ -22,7 +22,7 @@ export function useReportPage({
   storage.ensureRangeInitialized();
 
   // Loader
-  const { loading, error, daysRaw, loadReport } = useReportLoader({
+  const { loading, error, daysRaw, loadedAtUtc, loadReport } = useReportLoader({
     toast,
     workReportsApi,
     fromUtc: storage.fromUtc,
@@ -38,7 +38,7 @@ export function useReportPage({
   });
 
   // Durations
-  const durations = useReportDurations({ nowTickUtc });
+  const durations = useReportDurations({ nowTickUtc, loadedAtUtc });
 
   // View model
   const { daysVm } = useReportViewModel({
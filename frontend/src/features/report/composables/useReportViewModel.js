@@ -1,11 +1,9 @@
 // src/pages/report/composables/useReportViewModel.js
 import { computed } from 'vue';
 import {
-  diffSeconds,
   formatDuration,
   formatLocalDateTime,
-  formatDayLabel,
-  utcDayToUtcMidnightIso,
+  formatLocalDayLabel,
 } from '@/shared/utils/date';
 
 export function useReportViewModel({ daysRaw, showSegments, durations }) {
@@ -14,15 +12,24 @@ export function useReportViewModel({ daysRaw, showSegments, durations }) {
 
     let groupIndex = 0;
 
+    // Days are newest first: the first slice seen of a running session is the one that is still growing
+    const liveSeen = new Set();
+
     return days.map((day) => {
       const sessions = Array.isArray(day?.sessions) ? day.sessions : [];
-      const orderedSessions = sessions;
+      const orderedSessions = sessions.map((s) => {
+        const live = !s?.endTime && !liveSeen.has(s.id);
+        if (live) liveSeen.add(s.id);
+        return { s, live };
+      });
 
-      const totalSessionSecs = orderedSessions.reduce((sum, s) => sum + durations.sessionSeconds(s), 0);
-      const totalSegmentSecs = orderedSessions.reduce((sum, s) => sum + durations.sumSegmentSeconds(s?.items), 0);
+      // Day totals are computed server-side; only the live delta of running intervals is added
+      const liveDelta = (fn) => orderedSessions.reduce((sum, { s, live }) => sum + fn(s, live) - fn(s, false), 0);
+      const totalSessionSecs = (day?.sessionSeconds || 0) + liveDelta(durations.sessionSeconds);
+      const totalSegmentSecs = (day?.segmentSeconds || 0) + liveDelta(durations.sumSegmentSeconds);
       const totalUnallocSecs = Math.max(0, totalSessionSecs - totalSegmentSecs);
 
-      const sessionsVm = orderedSessions.map((s) => {
+      const sessionsVm = orderedSessions.map(({ s, live }) => {
         const running = !s?.endTime;
 
         const groupClass = (groupIndex % 2 === 0) ? 'group-even' : 'group-odd';
@@ -32,8 +39,8 @@ export function useReportViewModel({ daysRaw, showSegments, durations }) {
         const hasSegments = items.length > 0;
         const willRenderSegments = showSegments.value && hasSegments;
 
-        const segSecs = durations.sumSegmentSeconds(items);
-        const unallocSecs = durations.unallocatedSeconds(s);
+        const segSecs = durations.sumSegmentSeconds(s, live);
+        const unallocSecs = durations.unallocatedSeconds(s, live);
 
         const segmentsVm = willRenderSegments
           ? items.map((seg, idx) => {
@@ -53,9 +60,7 @@ export function useReportViewModel({ daysRaw, showSegments, durations }) {
                 startLabel: formatLocalDateTime(seg.startTime),
                 endLabel: seg.endTime ? formatLocalDateTime(seg.endTime) : '',
 
-                durationLabel: seg.endTime
-                  ? formatDuration(diffSeconds(seg.startTime, seg.endTime))
-                  : formatDuration(durations.segmentSeconds(seg)),
+                durationLabel: formatDuration(durations.segmentSeconds(seg)),
 
                 // individual values (for info box etc.)
                 categoryName,
@@ -78,9 +83,7 @@ export function useReportViewModel({ daysRaw, showSegments, durations }) {
           startLabel: formatLocalDateTime(s.startTime),
           endLabel: s.endTime ? formatLocalDateTime(s.endTime) : '',
 
-          durationTop: running
-            ? formatDuration(durations.sessionSeconds(s))
-            : formatDuration(diffSeconds(s.startTime, s.endTime)),
+          durationTop: formatDuration(durations.sessionSeconds(s, live)),
 
           segmentCount: items.length,
 
@@ -93,11 +96,9 @@ export function useReportViewModel({ daysRaw, showSegments, durations }) {
         };
       });
 
-      const dayLabelIso = utcDayToUtcMidnightIso(day?.dayUtc);
-
       return {
-        dayUtc: day?.dayUtc,
-        dayLabel: formatDayLabel(dayLabelIso),
+        day: day?.day,
+        dayLabel: formatLocalDayLabel(day?.day),
         totals: {
           total: formatDuration(totalSessionSecs),
           segments: formatDuration(totalSegmentSecs),
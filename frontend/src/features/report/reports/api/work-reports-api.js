@@ -1,6 +1,10 @@
 // src/api/work-reports-api.js
 import { request } from '@/shared/api/client';
-import { API_WORK_REPORTS_DAYS, API_WORK_REPORTS_EXPORT_PDF } from '@/shared/api/api-config';
+import {
+  API_WORK_REPORTS_DAYS,
+  API_WORK_REPORTS_RECENT_SESSIONS,
+  API_WORK_REPORTS_EXPORT_PDF,
+} from '@/shared/api/api-config';
 
 function withQuery(url, params = {}) {
   const qs = new URLSearchParams();
@@ -24,6 +28,11 @@ export const workReportsApi = {
     return request(withQuery(`${API_WORK_REPORTS_DAYS}`, params));
   },
 
+  // Latest sessions with precomputed totals (no segments): { limit }
+  recentSessions(params = {}) {
+    return request(withQuery(`${API_WORK_REPORTS_RECENT_SESSIONS}`, params));
+  },
+
   // For "open in new tab" – returns URL only (backend endpoint comes later)
   exportPdfUrl(params = {}) {
     return withQuery(`${API_WORK_REPORTS_EXPORT_PDF}`, params);
@@ -25,10 +25,12 @@ export function nowLocalFormatted(locale = DEFAULT_LOCALE) {
   return DateTime.now().setZone(LOCAL_TZ).setLocale(locale).toFormat('dd.MM.yy HH:mm:ss');
 }
 
-export function formatDayLabel(iso, locale = DEFAULT_LOCALE) {
-  const dt = parseUtc(iso);
-  if (!dt?.isValid) return '';
-  return dt.setZone(LOCAL_TZ).setLocale(locale).toFormat('cccc, dd.LL.yyyy');
+// Day already bucketed in LOCAL_TZ by the server (yyyy-MM-dd); no zone conversion
+export function formatLocalDayLabel(day, locale = DEFAULT_LOCALE) {
+  if (!day) return '';
+  const dt = DateTime.fromISO(day, { zone: LOCAL_TZ });
+  if (!dt.isValid) return '';
+  return dt.setLocale(locale).toFormat('cccc, dd.LL.yyyy');
 }
 
 /* ---------- INPUT CONVERSIONS ---------- */
@@ -85,13 +87,6 @@ export function computeLocalDayRangeUtc({ daysBack = 7, daysForward = 0 } = {})
   return { from, to };
 }
 
-export function utcDayToUtcMidnightIso(dayUtc) {
-  if (!dayUtc) return '';
-  const dt = DateTime.fromISO(dayUtc, { zone: 'utc' });
-  if (!dt.isValid) return '';
-  return dt.startOf('day').toISO({ suppressSeconds: false, suppressMilliseconds: false });
-}
-
 /* ---------- COMPARISON ---------- */
 export function utcIsoToMillis(iso) {
   const dt = parseUtc(iso);
@@ -0,0 +1,58 @@
+// src/utils/useLiveEvents.js
+import { ref, onMounted, onBeforeUnmount } from 'vue';
+
+import { API_EVENTS } from '@/shared/api/api-config';
+
+/**
+ * Subscribes to the backend live event stream (Server-Sent Events) for the lifetime of the component.
+ *
+ * - `handlers` maps event names ('workSession', 'workSegment', 'resync') to callbacks receiving the parsed payload
+ * - the browser reconnects on its own and sends Last-Event-ID, so missed events are replayed by the server
+ * - stays connected while a keep-alive page is deactivated (state stays fresh for the next visit)
+ */
+export function useLiveEvents(handlers = {}, { url = API_EVENTS } = {}) {
+  const connected = ref(false);
+
+  let source = null;
+
+  function open() {
+    if (source || typeof EventSource === 'undefined') return;
+
+    source = new EventSource(url);
+    source.onopen = () => {
+      connected.value = true;
+    };
+    source.onerror = () => {
+      // EventSource retries automatically; only the flag changes here
+      connected.value = false;
+    };
+
+    for (const [name, handler] of Object.entries(handlers)) {
+      source.addEventListener(name, (e) => {
+        let payload = null;
+        try {
+          payload = e.data ? JSON.parse(e.data) : null;
+        } catch {
+          payload = null;
+        }
+        handler(payload);
+      });
+    }
+  }
+
+  function close() {
+    if (!source) return;
+    source.close();
+    source = null;
+    connected.value = false;
+  }
+
+  onMounted(open);
+  onBeforeUnmount(close);
+
+  return {
+    connected, // ref
+    open,
+    close,
+  };
+}